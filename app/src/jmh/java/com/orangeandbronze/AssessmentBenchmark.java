@@ -0,0 +1,97 @@
+package com.orangeandbronze;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.orangeandbronze.exceptions.EnlistmentException;
+
+/**
+ * Measures Student.requestAssessment for students carrying a full load of sections, one at a
+ * time and for the whole population at once. Loads do not change during a run, so
+ * requestAssessment mostly reads the cached default assessment; the uncached benchmarks assess
+ * against an equal but distinct fee schedule, which is never cached.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssessmentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Population {
+        @Param({ "5000" })
+        public int students;
+
+        @Param({ "8" })
+        public int sectionsPerStudent;
+
+        List<Student> enrolled;
+        FeeSchedule uncachedFees;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SyntheticUniversity university = new SyntheticUniversity(students, 500, 4, 200, 200, 3000, 42L);
+            uncachedFees = new FeeSchedule(new BigDecimal("2345.67"), new BigDecimal("1234.56"),
+                    new BigDecimal("3456.78"), new BigDecimal("0.12"));
+            enrolled = new ArrayList<>(students);
+            Random random = new Random(7L);
+            List<Section> sections = university.getSections();
+            for (Student student : university.getStudents()) {
+                for (int attempts = 0; attempts < 200 && student.getEnrolledSections().size() < sectionsPerStudent; attempts++) {
+                    try {
+                        student.enlist(sections.get(random.nextInt(sections.size())));
+                    } catch (EnlistmentException e) {
+                        // Conflicts and unmet prerequisites are expected; keep drawing
+                    }
+                }
+                enrolled.add(student);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        Student nextStudent(List<Student> students) {
+            Student student = students.get(next);
+            next = (next + 1) % students.size();
+            return student;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal requestAssessment(Population population, Cursor cursor) {
+        return cursor.nextStudent(population.enrolled).requestAssessment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BigDecimal requestAssessmentParallel(Population population, Cursor cursor) {
+        return cursor.nextStudent(population.enrolled).requestAssessment();
+    }
+
+    @Benchmark
+    public BigDecimal requestAssessmentUncached(Population population, Cursor cursor) {
+        return cursor.nextStudent(population.enrolled).assess(population.uncachedFees).getTotalAmount();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BigDecimal requestAssessmentUncachedParallel(Population population, Cursor cursor) {
+        return cursor.nextStudent(population.enrolled).assess(population.uncachedFees).getTotalAmount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long assessAll(Population population) {
+        return Assessment.assessAll(population.enrolled, FeeSchedule.DEFAULT)
+                .mapToLong(Assessment::getTotalCentavos)
+                .sum();
+    }
+}
@@ -0,0 +1,170 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.orangeandbronze.exceptions.EnlistmentException;
+
+/**
+ * Measures Student.enlist and Student.cancel, both on uncontended sections and on a single
+ * hot section shared by every benchmark thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnlistmentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class University {
+        @Param({ "10000" })
+        public int students;
+
+        @Param({ "500" })
+        public int subjects;
+
+        @Param({ "4" })
+        public int prerequisiteDepth;
+
+        @Param({ "100" })
+        public int rooms;
+
+        @Param({ "120" })
+        public int instructors;
+
+        @Param({ "1500" })
+        public int sections;
+
+        SyntheticUniversity university;
+        List<Section> openSections;
+        Section hotSection;
+        final AtomicInteger nextStudentNumber = new AtomicInteger(1_000_000);
+
+        @Setup(Level.Trial)
+        public void setUp() throws EnlistmentException {
+            university = new SyntheticUniversity(students, subjects, prerequisiteDepth,
+                    rooms, instructors, sections, 42L);
+            openSections = new ArrayList<>();
+            for (Section section : university.getSections()) {
+                if (section.getSubject().getPrerequisites().isEmpty()) {
+                    openSections.add(section);
+                }
+            }
+            Room hall = new Room("HALL1", 100_000);
+            hotSection = new Section("HOT1", university.getSubjects().get(0),
+                    Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), hall, new Instructor("Hot Instructor"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Enrollee {
+        Student student;
+        Section[] cycle;
+        Section held;
+        Section clashing;
+        Section locked;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(University state) throws EnlistmentException {
+            student = new Student(state.nextStudentNumber.getAndIncrement());
+            // One open section per slot gives a load the student can enlist in and cancel repeatedly
+            Section[] bySlot = new Section[Schedule.SLOT_COUNT];
+            for (Section section : state.openSections) {
+                int slot = section.getSchedule().getSlot();
+                if (bySlot[slot] == null) {
+                    bySlot[slot] = section;
+                }
+            }
+            List<Section> usable = new ArrayList<>();
+            for (Section section : bySlot) {
+                if (section != null) {
+                    usable.add(section);
+                }
+            }
+            // The held section is the thread's own, so no thread count can fill it up
+            String suffix = String.valueOf(student.getStudentNumber());
+            Section heldSlot = usable.remove(usable.size() - 1);
+            held = new Section("HELD" + suffix, new Subject("HELD" + suffix, 3, false), heldSlot.getSchedule(),
+                    new Room("HELD" + suffix, 1), new Instructor("Held Instructor " + suffix));
+            cycle = usable.toArray(new Section[0]);
+            student.enlist(held);
+            for (Section section : state.openSections) {
+                if (section != held && section.hasScheduleConflict(held)) {
+                    clashing = section;
+                    break;
+                }
+            }
+            for (Section section : state.university.getSections()) {
+                if (!section.getSubject().getPrerequisites().isEmpty()) {
+                    locked = section;
+                    break;
+                }
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws EnlistmentException {
+            for (Section section : student.getEnrolledSections()) {
+                student.cancel(section);
+            }
+        }
+
+        Section nextSection() {
+            Section section = cycle[next];
+            next = (next + 1) % cycle.length;
+            return section;
+        }
+    }
+
+    @Benchmark
+    public void enlistAndCancel(Enrollee enrollee, Blackhole blackhole) {
+        enlistAndCancel(enrollee.student, enrollee.nextSection(), blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void enlistAndCancelParallel(Enrollee enrollee, Blackhole blackhole) {
+        enlistAndCancel(enrollee.student, enrollee.nextSection(), blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void enlistAndCancelHotSection(University state, Enrollee enrollee, Blackhole blackhole) {
+        enlistAndCancel(enrollee.student, state.hotSection, blackhole);
+    }
+
+    @Benchmark
+    public void rejectScheduleConflict(Enrollee enrollee, Blackhole blackhole) {
+        enlistAndCancel(enrollee.student, enrollee.clashing, blackhole);
+    }
+
+    @Benchmark
+    public void rejectPrerequisiteNotMet(Enrollee enrollee, Blackhole blackhole) {
+        enlistAndCancel(enrollee.student, enrollee.locked, blackhole);
+    }
+
+    @Benchmark
+    public EnlistmentResult tryRejectScheduleConflict(Enrollee enrollee) {
+        return enrollee.student.tryEnlist(enrollee.clashing);
+    }
+
+    @Benchmark
+    public EnlistmentResult tryRejectPrerequisiteNotMet(Enrollee enrollee) {
+        return enrollee.student.tryEnlist(enrollee.locked);
+    }
+
+    private static void enlistAndCancel(Student student, Section section, Blackhole blackhole) {
+        try {
+            student.enlist(section);
+            student.cancel(section);
+        } catch (EnlistmentException e) {
+            blackhole.consume(e);
+        }
+    }
+}
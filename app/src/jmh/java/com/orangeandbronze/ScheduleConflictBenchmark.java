@@ -0,0 +1,101 @@
+package com.orangeandbronze;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.orangeandbronze.exceptions.ScheduleConflictException;
+
+/**
+ * Measures Section.hasScheduleConflict and the room and instructor slot claims done by the
+ * Section constructor against an almost fully booked room and instructor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleConflictBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({ "1500" })
+        public int sections;
+
+        List<Section> catalog;
+        Subject subject;
+        Room bookedRoom;
+        Instructor bookedInstructor;
+        Schedule freeSchedule;
+        Schedule takenSchedule;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ScheduleConflictException {
+            SyntheticUniversity university = new SyntheticUniversity(1, 500, 4, 100, 120, sections, 42L);
+            catalog = university.getSections();
+            subject = university.getSubjects().get(0);
+
+            // Book every slot but the last for one room and one instructor
+            Schedule[] schedules = SyntheticUniversity.allSchedules();
+            bookedRoom = new Room("BOOKED1", 40);
+            bookedInstructor = new Instructor("Booked Instructor");
+            for (int slot = 0; slot < schedules.length - 1; slot++) {
+                new Section("BOOKED" + slot, subject, schedules[slot], bookedRoom, bookedInstructor);
+            }
+            freeSchedule = schedules[schedules.length - 1];
+            takenSchedule = schedules[0];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        Section nextSection(List<Section> catalog) {
+            Section section = catalog.get(next);
+            next = (next + 1) % catalog.size();
+            return section;
+        }
+    }
+
+    @Benchmark
+    public boolean hasScheduleConflict(Catalog catalog, Cursor cursor) {
+        return cursor.nextSection(catalog.catalog).hasScheduleConflict(cursor.nextSection(catalog.catalog));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean hasScheduleConflictParallel(Catalog catalog, Cursor cursor) {
+        return cursor.nextSection(catalog.catalog).hasScheduleConflict(cursor.nextSection(catalog.catalog));
+    }
+
+    @Benchmark
+    public void createSectionInFreeSlot(Catalog catalog, Blackhole blackhole) {
+        createSection(catalog, catalog.freeSchedule, blackhole);
+    }
+
+    @Benchmark
+    public void createSectionInTakenSlot(Catalog catalog, Blackhole blackhole) {
+        createSection(catalog, catalog.takenSchedule, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void createSectionInTakenSlotParallel(Catalog catalog, Blackhole blackhole) {
+        createSection(catalog, catalog.takenSchedule, blackhole);
+    }
+
+    private static void createSection(Catalog catalog, Schedule schedule, Blackhole blackhole) {
+        try {
+            Section section = new Section("NEW1", catalog.subject, schedule, catalog.bookedRoom, catalog.bookedInstructor);
+            // Give the slot back so the next invocation measures the same path
+            catalog.bookedRoom.removeSection(section);
+            catalog.bookedInstructor.removeSection(section);
+            blackhole.consume(section);
+        } catch (ScheduleConflictException e) {
+            blackhole.consume(e);
+        }
+    }
+}
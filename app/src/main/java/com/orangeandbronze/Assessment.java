@@ -0,0 +1,58 @@
+package com.orangeandbronze;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * A student's assessed load and the amount due for it.
+ */
+final class Assessment {
+    private final int studentNumber;
+    private final int units;
+    private final int labSubjects;
+    private final long totalCentavos;
+    private final BigDecimal totalAmount;
+
+    Assessment(int studentNumber, int units, int labSubjects, long totalCentavos) {
+        this.studentNumber = studentNumber;
+        this.units = units;
+        this.labSubjects = labSubjects;
+        this.totalCentavos = totalCentavos;
+        this.totalAmount = BigDecimal.valueOf(totalCentavos, 2);
+    }
+
+    /**
+     * Assesses every student in parallel. The stream is lazy, so results can be written out as
+     * they are produced instead of being collected first.
+     */
+    static Stream<Assessment> assessAll(Collection<Student> students, FeeSchedule fees) {
+        return students.parallelStream().map(student -> student.assess(fees));
+    }
+
+    // Getters
+    int getStudentNumber() {
+        return studentNumber;
+    }
+
+    int getUnits() {
+        return units;
+    }
+
+    int getLabSubjects() {
+        return labSubjects;
+    }
+
+    long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    @Override
+    public String toString() {
+        return studentNumber + ": " + getTotalAmount();
+    }
+}
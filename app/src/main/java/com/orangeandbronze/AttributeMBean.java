@@ -0,0 +1,85 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.function.Supplier;
+import javax.management.*;
+
+/**
+ * Read-only MBean whose attributes are read from suppliers on every request, so exposing a
+ * metric costs nothing until a JMX client actually polls it.
+ */
+final class AttributeMBean implements DynamicMBean {
+    private final String description;
+    private final Map<String, Supplier<?>> attributes;
+    private final Map<String, String> types;
+
+    AttributeMBean(String description) {
+        this.description = description;
+        this.attributes = new LinkedHashMap<>();
+        this.types = new HashMap<>();
+    }
+
+    AttributeMBean addLong(String name, Supplier<Long> supplier) {
+        return add(name, supplier, long.class);
+    }
+
+    AttributeMBean addInt(String name, Supplier<Integer> supplier) {
+        return add(name, supplier, int.class);
+    }
+
+    AttributeMBean addDouble(String name, Supplier<Double> supplier) {
+        return add(name, supplier, double.class);
+    }
+
+    private AttributeMBean add(String name, Supplier<?> supplier, Class<?> type) {
+        attributes.put(name, supplier);
+        types.put(name, type.getName());
+        return this;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<?> supplier = attributes.get(attribute);
+        if (supplier == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return supplier.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<?> supplier = attributes.get(name);
+            if (supplier != null) {
+                list.add(new Attribute(name, supplier.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] infos = new MBeanAttributeInfo[attributes.size()];
+        int i = 0;
+        for (String name : attributes.keySet()) {
+            infos[i++] = new MBeanAttributeInfo(name, types.get(name), name, true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), description, infos, null, null, null);
+    }
+}
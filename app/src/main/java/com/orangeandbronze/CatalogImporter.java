@@ -0,0 +1,248 @@
+package com.orangeandbronze;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.orangeandbronze.exceptions.ScheduleConflictException;
+
+/**
+ * Imports a term from CSV exports, reading each file line by line so memory use does not grow
+ * with file size. Each file has a header row followed by comma-separated values:
+ * <ul>
+ * <li>subjects.csv: subjectId,units,laboratory</li>
+ * <li>prerequisites.csv: subjectId,prerequisiteId</li>
+ * <li>rooms.csv: roomName,capacity</li>
+ * <li>instructors.csv: name</li>
+ * <li>sections.csv: sectionId,subjectId,days,period,roomName,instructorName</li>
+ * <li>transcripts.csv: studentNumber,subjectId</li>
+ * </ul>
+ * Subjects, rooms and instructors are imported in parallel; prerequisites, sections and
+ * transcripts only depend on those, so they run in parallel afterwards. A bad row is recorded as
+ * an {@link RowError} and skipped; it never stops the import.
+ */
+final class CatalogImporter {
+    static final class RowError {
+        private final String file;
+        private final long line;
+        private final String message;
+
+        RowError(String file, long line, String message) {
+            this.file = file;
+            this.line = line;
+            this.message = message;
+        }
+
+        String getFile() {
+            return file;
+        }
+
+        long getLine() {
+            return line;
+        }
+
+        String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return file + ":" + line + ": " + message;
+        }
+    }
+
+    private interface RowHandler {
+        void handle(String[] fields);
+    }
+
+    private final Path directory;
+    private final Map<String, Subject> subjects;
+    private final Map<String, Room> rooms;
+    private final Map<String, Instructor> instructors;
+    private final Map<String, Section> sections;
+    private final Map<Integer, Student> students;
+    private final Queue<RowError> errors;
+
+    private CatalogImporter(Path directory) {
+        this.directory = directory;
+        this.subjects = new ConcurrentHashMap<>();
+        this.rooms = new ConcurrentHashMap<>();
+        this.instructors = new ConcurrentHashMap<>();
+        this.sections = new ConcurrentHashMap<>();
+        this.students = new ConcurrentHashMap<>();
+        this.errors = new ConcurrentLinkedQueue<>();
+    }
+
+    static CatalogImporter importFrom(Path directory) throws IOException {
+        CatalogImporter importer = new CatalogImporter(directory);
+        importer.runStage(importer::importSubjects, importer::importRooms, importer::importInstructors);
+        importer.runStage(importer::importPrerequisites, importer::importSections, importer::importTranscripts);
+        return importer;
+    }
+
+    private void runStage(Runnable... tasks) throws IOException {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            futures[i] = CompletableFuture.runAsync(tasks[i]);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void importSubjects() {
+        readRows("subjects.csv", 3, fields -> {
+            Subject subject = new Subject(fields[0], parseInt(fields[1], "units"), parseBoolean(fields[2]));
+            putUnique(subjects, subject.getSubjectId(), subject, "subject");
+        });
+    }
+
+    private void importRooms() {
+        readRows("rooms.csv", 2, fields -> {
+            Room room = new Room(fields[0], parseInt(fields[1], "capacity"));
+            putUnique(rooms, room.getRoomName(), room, "room");
+        });
+    }
+
+    private void importInstructors() {
+        readRows("instructors.csv", 1, fields -> putUnique(instructors, fields[0], new Instructor(fields[0]), "instructor"));
+    }
+
+    private void importPrerequisites() {
+        readRows("prerequisites.csv", 2, fields ->
+                lookup(subjects, fields[0], "subject").addPrerequisite(lookup(subjects, fields[1], "subject")));
+    }
+
+    private void importSections() {
+        readRows("sections.csv", 6, fields -> {
+            if (!ValidationUtils.isAlphanumeric(fields[0])) {
+                throw new IllegalArgumentException("Section ID must be alphanumeric");
+            }
+            if (sections.containsKey(fields[0])) {
+                throw new IllegalArgumentException("Duplicate section " + fields[0]);
+            }
+            Schedule schedule = Schedule.of(parseEnum(Schedule.Days.class, fields[2]), parseEnum(Schedule.Period.class, fields[3]));
+            try {
+                Section section = new Section(fields[0], lookup(subjects, fields[1], "subject"), schedule,
+                        lookup(rooms, fields[4], "room"), lookup(instructors, fields[5], "instructor"));
+                sections.put(section.getSectionId(), section);
+            } catch (ScheduleConflictException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        });
+    }
+
+    private void importTranscripts() {
+        readRows("transcripts.csv", 2, fields -> {
+            int studentNumber = parseInt(fields[0], "student number");
+            Subject subject = lookup(subjects, fields[1], "subject");
+            students.computeIfAbsent(studentNumber, Student::new).completeSubject(subject);
+        });
+    }
+
+    private void readRows(String fileName, int columns, RowHandler handler) {
+        Path file = directory.resolve(fileName);
+        if (!Files.exists(file)) {
+            errors.add(new RowError(fileName, 0, "File not found"));
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine(); // header
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != columns) {
+                    errors.add(new RowError(fileName, lineNumber, "Expected " + columns + " columns but found " + fields.length));
+                    continue;
+                }
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = fields[i].trim();
+                }
+                try {
+                    handler.handle(fields);
+                } catch (RuntimeException e) {
+                    errors.add(new RowError(fileName, lineNumber, String.valueOf(e.getMessage())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> void putUnique(Map<String, T> index, String key, T value, String kind) {
+        if (index.putIfAbsent(key, value) != null) {
+            throw new IllegalArgumentException("Duplicate " + kind + " " + key);
+        }
+    }
+
+    private static <T> T lookup(Map<String, T> index, String key, String kind) {
+        T value = index.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown " + kind + " " + key);
+        }
+        return value;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid boolean " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " " + value);
+        }
+    }
+
+    // Getters
+    Map<String, Subject> getSubjects() {
+        return subjects;
+    }
+
+    Map<String, Room> getRooms() {
+        return rooms;
+    }
+
+    Map<String, Instructor> getInstructors() {
+        return instructors;
+    }
+
+    Map<String, Section> getSections() {
+        return sections;
+    }
+
+    Map<Integer, Student> getStudents() {
+        return students;
+    }
+
+    /** Row errors in no particular order across files, but in line order within each file. */
+    List<RowError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+}
@@ -0,0 +1,278 @@
+package com.orangeandbronze;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Compact binary image of a term: subjects with their prerequisites, rooms, instructors,
+ * sections, and each student's completed subjects and enrolled sections. Objects refer to one
+ * another by their index in the file, and subjects are written prerequisites-first, so loading
+ * needs no lookups by ID and no conflict or eligibility revalidation: prerequisites are
+ * installed without the cycle check, sections take their room and instructor slots directly,
+ * and enlistments are restored without eligibility checks.
+ *
+ * Writing reads each student's load under that student's monitor, so a snapshot can be taken
+ * while enrollment keeps running; every student is captured in a consistent state, and section
+ * rosters are rebuilt from the students' loads.
+ */
+final class CatalogSnapshot {
+    private static final int MAGIC = 0x454E5253; // "ENRS"
+    // Version 2 added free-form schedules; a version 1 file is a version 2 file without any
+    private static final short VERSION = 2;
+
+    private final List<Subject> subjects;
+    private final List<Room> rooms;
+    private final List<Instructor> instructors;
+    private final List<Section> sections;
+    private final List<Student> students;
+
+    CatalogSnapshot(Collection<Subject> subjects, Collection<Room> rooms, Collection<Instructor> instructors,
+            Collection<Section> sections, Collection<Student> students) {
+        this.subjects = List.copyOf(subjects);
+        this.rooms = List.copyOf(rooms);
+        this.instructors = List.copyOf(instructors);
+        this.sections = List.copyOf(sections);
+        this.students = List.copyOf(students);
+    }
+
+    /** Writes to a temporary file first, then moves it into place, so a crash never leaves a partial snapshot. */
+    void writeTo(Path file) throws IOException {
+        // Capture each student's state once, so the written rosters and loads agree
+        Map<Student, Set<Section>> loads = new LinkedHashMap<>();
+        Map<Student, Set<Subject>> transcripts = new HashMap<>();
+        for (Student student : students) {
+            synchronized (student) {
+                loads.put(student, student.getEnrolledSections());
+                transcripts.put(student, student.getCompletedSubjects());
+            }
+        }
+
+        // Include everything reachable, so the snapshot never refers outside itself
+        Set<Section> allSections = new LinkedHashSet<>(sections);
+        loads.values().forEach(allSections::addAll);
+        Set<Subject> reachableSubjects = new LinkedHashSet<>(subjects);
+        Set<Room> allRooms = new LinkedHashSet<>(rooms);
+        Set<Instructor> allInstructors = new LinkedHashSet<>(instructors);
+        for (Section section : allSections) {
+            reachableSubjects.add(section.getSubject());
+            allRooms.add(section.getRoom());
+            allInstructors.add(section.getInstructor());
+        }
+        transcripts.values().forEach(reachableSubjects::addAll);
+        List<Subject> orderedSubjects = prerequisitesFirst(reachableSubjects);
+
+        Map<Subject, Integer> subjectIndex = indexOf(orderedSubjects);
+        Map<Room, Integer> roomIndex = indexOf(allRooms);
+        Map<Instructor, Integer> instructorIndex = indexOf(allInstructors);
+        Map<Section, Integer> sectionIndex = indexOf(allSections);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+
+                out.writeInt(orderedSubjects.size());
+                for (Subject subject : orderedSubjects) {
+                    out.writeUTF(subject.getSubjectId());
+                    out.writeInt(subject.getUnits());
+                    out.writeBoolean(subject.isLaboratory());
+                    writeIndexes(out, subject.getPrerequisites(), subjectIndex);
+                }
+
+                out.writeInt(allRooms.size());
+                for (Room room : allRooms) {
+                    out.writeUTF(room.getRoomName());
+                    out.writeInt(room.getCapacity());
+                }
+
+                out.writeInt(allInstructors.size());
+                for (Instructor instructor : allInstructors) {
+                    out.writeUTF(instructor.getName());
+                }
+
+                out.writeInt(allSections.size());
+                for (Section section : allSections) {
+                    out.writeUTF(section.getSectionId());
+                    out.writeInt(subjectIndex.get(section.getSubject()));
+                    writeSchedule(out, section.getSchedule());
+                    out.writeInt(roomIndex.get(section.getRoom()));
+                    out.writeInt(instructorIndex.get(section.getInstructor()));
+                }
+
+                out.writeInt(loads.size());
+                for (Map.Entry<Student, Set<Section>> entry : loads.entrySet()) {
+                    out.writeInt(entry.getKey().getStudentNumber());
+                    writeIndexes(out, transcripts.get(entry.getKey()), subjectIndex);
+                    writeIndexes(out, entry.getValue(), sectionIndex);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Nothing was moved into place, so the partial temporary file is of no use to anyone
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    static CatalogSnapshot readFrom(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a catalog snapshot");
+            }
+            short version = in.readShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version);
+            }
+
+            Subject[] subjects = new Subject[in.readInt()];
+            for (int i = 0; i < subjects.length; i++) {
+                subjects[i] = new Subject(in.readUTF(), in.readInt(), in.readBoolean());
+                int[] prerequisites = readIndexes(in);
+                List<Subject> restored = new ArrayList<>(prerequisites.length);
+                for (int prerequisite : prerequisites) {
+                    restored.add(subjects[prerequisite]);
+                }
+                subjects[i].restorePrerequisites(restored);
+            }
+
+            Room[] rooms = new Room[in.readInt()];
+            for (int i = 0; i < rooms.length; i++) {
+                rooms[i] = new Room(in.readUTF(), in.readInt());
+            }
+
+            Instructor[] instructors = new Instructor[in.readInt()];
+            for (int i = 0; i < instructors.length; i++) {
+                instructors[i] = new Instructor(in.readUTF());
+            }
+
+            Section[] sections = new Section[in.readInt()];
+            for (int i = 0; i < sections.length; i++) {
+                String sectionId = in.readUTF();
+                Subject subject = subjects[in.readInt()];
+                Schedule schedule = readSchedule(in);
+                sections[i] = Section.restore(sectionId, subject, schedule, rooms[in.readInt()], instructors[in.readInt()]);
+            }
+
+            Student[] students = new Student[in.readInt()];
+            for (int i = 0; i < students.length; i++) {
+                students[i] = new Student(in.readInt());
+                for (int subject : readIndexes(in)) {
+                    students[i].restoreCompletedSubject(subjects[subject]);
+                }
+                for (int section : readIndexes(in)) {
+                    students[i].restoreEnlistment(sections[section]);
+                }
+            }
+            return new CatalogSnapshot(Arrays.asList(subjects), Arrays.asList(rooms), Arrays.asList(instructors),
+                    Arrays.asList(sections), Arrays.asList(students));
+        }
+    }
+
+    private static List<Subject> prerequisitesFirst(Set<Subject> roots) {
+        List<Subject> ordered = new ArrayList<>(roots.size());
+        Set<Subject> visited = new HashSet<>();
+        Deque<Iterator<Subject>> stack = new ArrayDeque<>();
+        Deque<Subject> path = new ArrayDeque<>();
+        for (Subject root : roots) {
+            if (!visited.add(root)) {
+                continue;
+            }
+            path.push(root);
+            stack.push(root.getPrerequisites().iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Subject> pending = stack.peek();
+                if (pending.hasNext()) {
+                    Subject prerequisite = pending.next();
+                    if (visited.add(prerequisite)) {
+                        path.push(prerequisite);
+                        stack.push(prerequisite.getPrerequisites().iterator());
+                    }
+                } else {
+                    stack.pop();
+                    ordered.add(path.pop());
+                }
+            }
+        }
+        return ordered;
+    }
+
+    // A slot number, or -1 followed by the meetings in week minutes
+    private static void writeSchedule(DataOutputStream out, Schedule schedule) throws IOException {
+        out.writeByte(schedule.getSlot());
+        if (!schedule.isSlotted()) {
+            out.writeByte(schedule.getMeetingCount());
+            for (int i = 0; i < schedule.getMeetingCount(); i++) {
+                out.writeShort(schedule.getMeetingStart(i));
+                out.writeShort(schedule.getMeetingEnd(i));
+            }
+        }
+    }
+
+    private static Schedule readSchedule(DataInputStream in) throws IOException {
+        int slot = in.readByte();
+        if (slot >= 0) {
+            return Schedule.forSlot(slot);
+        }
+        Schedule.Meeting[] meetings = new Schedule.Meeting[in.readUnsignedByte()];
+        for (int i = 0; i < meetings.length; i++) {
+            int start = in.readUnsignedShort();
+            int end = in.readUnsignedShort();
+            int day = start / Schedule.MINUTES_PER_DAY;
+            meetings[i] = new Schedule.Meeting(DayOfWeek.of(day + 1), start - day * Schedule.MINUTES_PER_DAY,
+                    end - day * Schedule.MINUTES_PER_DAY);
+        }
+        return Schedule.of(meetings);
+    }
+
+    private static <T> Map<T, Integer> indexOf(Collection<T> items) {
+        Map<T, Integer> index = new HashMap<>(items.size() * 2);
+        for (T item : items) {
+            index.putIfAbsent(item, index.size());
+        }
+        return index;
+    }
+
+    private static <T> void writeIndexes(DataOutputStream out, Collection<T> items, Map<T, Integer> index)
+            throws IOException {
+        out.writeInt(items.size());
+        for (T item : items) {
+            out.writeInt(index.get(item));
+        }
+    }
+
+    private static int[] readIndexes(DataInputStream in) throws IOException {
+        int[] indexes = new int[in.readInt()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = in.readInt();
+        }
+        return indexes;
+    }
+
+    // Getters
+    List<Subject> getSubjects() {
+        return subjects;
+    }
+
+    List<Room> getRooms() {
+        return rooms;
+    }
+
+    List<Instructor> getInstructors() {
+        return instructors;
+    }
+
+    List<Section> getSections() {
+        return sections;
+    }
+
+    List<Student> getStudents() {
+        return students;
+    }
+}
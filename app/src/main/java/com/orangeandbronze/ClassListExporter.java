@@ -0,0 +1,216 @@
+package com.orangeandbronze;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the class list of every section to one file. Sections are encoded in parallel, each
+ * into a buffer borrowed from a shared pool, and each full buffer goes out with a positional
+ * write at an offset reserved for it, so no thread waits on another and memory stays at one
+ * buffer per worker however large the rosters are. Rosters are read in place, never copied.
+ *
+ * Section IDs are written in UTF-8. Chunks from different sections interleave in the file:
+ * <ul>
+ * <li>CSV: a header row, then sectionId,studentNumber rows</li>
+ * <li>BINARY: repeated [sectionIdLength:2][sectionId][count:4][studentNumber:4 x count] blocks;
+ * every section has at least one block, and a large section may span several</li>
+ * </ul>
+ */
+final class ClassListExporter {
+    enum Format {
+        CSV, BINARY
+    }
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] CSV_HEADER = "sectionId,studentNumber\n".getBytes(StandardCharsets.US_ASCII);
+    // Digits in the longest int, so a CSV row never needs more than ID + comma + digits + newline
+    private static final int MAX_NUMBER_LENGTH = 11;
+
+    private final int bufferSize;
+    private final ConcurrentLinkedQueue<ByteBuffer> pool;
+
+    ClassListExporter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    ClassListExporter(int bufferSize) {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+        }
+        this.bufferSize = bufferSize;
+        this.pool = new ConcurrentLinkedQueue<>();
+    }
+
+    /** Writes the class lists of all the sections, replacing the file; returns the number of roster entries written. */
+    long export(Collection<Section> sections, Path file, Format format) throws IOException {
+        for (Section section : sections) {
+            checkFits(section.getSectionId(), format);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            AtomicLong nextPosition = new AtomicLong();
+            if (format == Format.CSV) {
+                writeAt(channel, ByteBuffer.wrap(CSV_HEADER), nextPosition);
+            }
+            AtomicLong entries = new AtomicLong();
+            try {
+                sections.parallelStream().forEach(section -> {
+                    try {
+                        entries.addAndGet(exportSection(section, channel, nextPosition, format));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return entries.get();
+        }
+    }
+
+    // Checked before the file is touched: a block header or row must fit in one buffer with a roster entry
+    private void checkFits(String sectionId, Format format) {
+        int length = sectionId.getBytes(StandardCharsets.UTF_8).length;
+        int needed = format == Format.CSV
+                ? length + MAX_NUMBER_LENGTH + 2
+                : Short.BYTES + length + Integer.BYTES * 2;
+        if (needed > bufferSize || format == Format.BINARY && length > 0xFFFF) {
+            throw new IllegalArgumentException("Section ID " + sectionId.substring(0, 32) + "... is " + length
+                    + " bytes in UTF-8, too long to export with a " + bufferSize + "-byte buffer");
+        }
+    }
+
+    private long exportSection(Section section, FileChannel channel, AtomicLong nextPosition, Format format)
+            throws IOException {
+        byte[] sectionId = section.getSectionId().getBytes(StandardCharsets.UTF_8);
+        int rowLimit = sectionId.length + MAX_NUMBER_LENGTH + 2;
+        ByteBuffer buffer = acquire();
+        long[] count = new long[1];
+        try {
+            Chunk chunk = new Chunk(buffer, sectionId, format);
+            section.forEachStudent(student -> {
+                if (buffer.remaining() < (format == Format.CSV ? rowLimit : Integer.BYTES)) {
+                    flush(chunk, channel, nextPosition);
+                }
+                if (format == Format.CSV) {
+                    buffer.put(sectionId).put((byte) ',');
+                    putDecimal(buffer, student.getStudentNumber());
+                    buffer.put((byte) '\n');
+                } else {
+                    buffer.putInt(student.getStudentNumber());
+                }
+                chunk.entries++;
+                count[0]++;
+            });
+            // Every section gets at least one BINARY block, so empty rosters still show up
+            if (chunk.entries > 0 || format == Format.BINARY && count[0] == 0) {
+                flush(chunk, channel, nextPosition);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            release(buffer);
+        }
+        return count[0];
+    }
+
+    // Writes out what the chunk holds and starts the next one in the same buffer
+    private static void flush(Chunk chunk, FileChannel channel, AtomicLong nextPosition) {
+        ByteBuffer buffer = chunk.buffer;
+        if (chunk.format == Format.BINARY) {
+            buffer.putInt(chunk.countOffset, chunk.entries);
+        }
+        buffer.flip();
+        try {
+            writeAt(channel, buffer, nextPosition);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.start();
+    }
+
+    private static void writeAt(FileChannel channel, ByteBuffer buffer, AtomicLong nextPosition) throws IOException {
+        long position = nextPosition.getAndAdd(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void putDecimal(ByteBuffer buffer, int value) {
+        if (value == 0) {
+            buffer.put((byte) '0');
+            return;
+        }
+        int start = buffer.position();
+        while (value > 0) {
+            buffer.put((byte) ('0' + value % 10));
+            value /= 10;
+        }
+        // Digits came out least significant first
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte digit = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, digit);
+        }
+    }
+
+    private ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void release(ByteBuffer buffer) {
+        pool.offer(buffer);
+    }
+
+    /** Reads a BINARY export back into class lists keyed by section ID, merging split sections. */
+    static Map<String, List<Integer>> readBinary(Path file) throws IOException {
+        Map<String, List<Integer>> classLists = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.hasRemaining()) {
+                byte[] sectionId = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(sectionId);
+                int count = buffer.getInt();
+                List<Integer> students = classLists.computeIfAbsent(new String(sectionId, StandardCharsets.UTF_8),
+                        id -> new ArrayList<>());
+                for (int i = 0; i < count; i++) {
+                    students.add(buffer.getInt());
+                }
+            }
+        }
+        return classLists;
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer buffer;
+        private final byte[] sectionId;
+        private final Format format;
+        private int countOffset;
+        private int entries;
+
+        Chunk(ByteBuffer buffer, byte[] sectionId, Format format) {
+            this.buffer = buffer;
+            this.sectionId = sectionId;
+            this.format = format;
+            start();
+        }
+
+        void start() {
+            buffer.clear();
+            entries = 0;
+            if (format == Format.BINARY) {
+                buffer.putShort((short) sectionId.length).put(sectionId);
+                countOffset = buffer.position();
+                buffer.putInt(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.orangeandbronze;
+
+import java.util.*;
+
+/**
+ * Compiled prerequisite graph. Subjects get a dense ordinal per subject ID, and each subject
+ * carries its direct and transitive prerequisites as {@link OrdinalSet}s so eligibility checks
+ * are plain bit tests. The graph lives on the subject objects themselves, so a catalog loaded
+ * again in the same JVM starts from its own subjects and inherits nothing from earlier ones.
+ */
+final class Curriculum {
+    private static final Interner ORDINALS = new Interner();
+    // Catalog edits are rare next to enlistment reads, so they simply serialize on one lock
+    private static final Object GRAPH_LOCK = new Object();
+    // Bumped whenever a prerequisite is added, so cached eligibility can tell it is stale
+    private static volatile int version;
+
+    private Curriculum() {
+    }
+
+    static int ordinalOf(String subjectId) {
+        return ORDINALS.ordinalOf(subjectId);
+    }
+
+    static int findOrdinal(String subjectId) {
+        return ORDINALS.find(subjectId);
+    }
+
+    /** Ordinals of those of the given subjects that have no prerequisites, which every student may take. */
+    static OrdinalSet rootsOf(Iterable<Subject> subjects) {
+        OrdinalSet roots = new OrdinalSet();
+        for (Subject subject : subjects) {
+            if (subject.getPrerequisiteOrdinals().isEmpty()) {
+                roots.add(subject.getOrdinal());
+            }
+        }
+        return roots;
+    }
+
+    static int getVersion() {
+        return version;
+    }
+
+    // A subject being restored has no dependents yet, so its own sets are all there is to publish
+    static void restoreLinks(Subject subject, Collection<Subject> prerequisites) {
+        synchronized (GRAPH_LOCK) {
+            Set<Subject> subjects = subject.getPrerequisites();
+            subjects.addAll(prerequisites);
+            OrdinalSet direct = subject.getPrerequisiteOrdinals().copy();
+            OrdinalSet transitive = subject.getTransitivePrerequisiteOrdinals().copy();
+            for (Subject prerequisite : prerequisites) {
+                direct.add(prerequisite.getOrdinal());
+                transitive.add(prerequisite.getOrdinal());
+                transitive.addAll(prerequisite.getTransitivePrerequisiteOrdinals());
+                prerequisite.addDependent(subject);
+            }
+            subject.publishPrerequisiteSubjects(subjects);
+            subject.publishPrerequisites(direct);
+            subject.publishTransitivePrerequisites(transitive);
+            version++;
+        }
+    }
+
+    /** Adds a direct prerequisite, doing nothing if the subject already has it. */
+    static void link(Subject subject, Subject prerequisite) {
+        synchronized (GRAPH_LOCK) {
+            Set<Subject> subjects = subject.getPrerequisites();
+            if (!subjects.add(prerequisite)) {
+                return;
+            }
+            if (subject.getOrdinal() == prerequisite.getOrdinal()
+                    || prerequisite.getTransitivePrerequisiteOrdinals().contains(subject.getOrdinal())) {
+                throw new IllegalArgumentException("Prerequisite " + prerequisite.getSubjectId() +
+                        " would create a cycle through subject " + subject.getSubjectId());
+            }
+            OrdinalSet added = prerequisite.getTransitivePrerequisiteOrdinals().copy();
+            added.add(prerequisite.getOrdinal());
+
+            OrdinalSet direct = subject.getPrerequisiteOrdinals().copy();
+            direct.add(prerequisite.getOrdinal());
+            subject.publishPrerequisiteSubjects(subjects);
+            subject.publishPrerequisites(direct);
+            prerequisite.addDependent(subject);
+            version++;
+
+            // Everything that (transitively) requires this subject now also requires the new prerequisites
+            Deque<Subject> pending = new ArrayDeque<>();
+            Set<Subject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            pending.push(subject);
+            while (!pending.isEmpty()) {
+                Subject current = pending.pop();
+                if (!visited.add(current)) {
+                    continue;
+                }
+                OrdinalSet transitive = current.getTransitivePrerequisiteOrdinals().copy();
+                transitive.addAll(added);
+                current.publishTransitivePrerequisites(transitive);
+                pending.addAll(current.getDependents());
+            }
+        }
+    }
+}
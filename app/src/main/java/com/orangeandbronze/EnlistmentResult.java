@@ -0,0 +1,148 @@
+package com.orangeandbronze;
+
+import java.util.Objects;
+
+import com.orangeandbronze.exceptions.*;
+
+/**
+ * Outcome of enlisting in one section, alone or as part of a cart. Rejections carry a code and
+ * the offending section or prerequisite; the message and exception are built only on request.
+ */
+final class EnlistmentResult {
+    enum Status {
+        ENLISTED,
+        WAITLISTED, // the section was full, so the student was queued for the next free seat
+        REJECTED, // this section failed validation or had no seat left
+        ABORTED // this section was fine, but another section in the same cart was rejected
+    }
+
+    enum Rejection {
+        ALREADY_ENROLLED,
+        DUPLICATE_IN_CART,
+        SCHEDULE_CONFLICT,
+        SAME_SUBJECT,
+        PREREQUISITE_NOT_MET,
+        CAPACITY_REACHED
+    }
+
+    private final Section section;
+    private final Status status;
+    private final Rejection rejection;
+    private final Section offendingSection;
+    private final int missingPrerequisiteOrdinal;
+
+    private EnlistmentResult(Section section, Status status, Rejection rejection,
+            Section offendingSection, int missingPrerequisiteOrdinal) {
+        this.section = Objects.requireNonNull(section);
+        this.status = status;
+        this.rejection = rejection;
+        this.offendingSection = offendingSection;
+        this.missingPrerequisiteOrdinal = missingPrerequisiteOrdinal;
+    }
+
+    static EnlistmentResult enlisted(Section section) {
+        return new EnlistmentResult(section, Status.ENLISTED, null, null, -1);
+    }
+
+    static EnlistmentResult waitlisted(Section section) {
+        return new EnlistmentResult(section, Status.WAITLISTED, null, null, -1);
+    }
+
+    static EnlistmentResult rejected(Section section, Rejection rejection, Section offendingSection) {
+        return new EnlistmentResult(section, Status.REJECTED, Objects.requireNonNull(rejection), offendingSection, -1);
+    }
+
+    static EnlistmentResult prerequisiteNotMet(Section section, int missingPrerequisiteOrdinal) {
+        return new EnlistmentResult(section, Status.REJECTED, Rejection.PREREQUISITE_NOT_MET, null,
+                missingPrerequisiteOrdinal);
+    }
+
+    static EnlistmentResult aborted(Section section) {
+        return new EnlistmentResult(section, Status.ABORTED, null, null, -1);
+    }
+
+    boolean isEnlisted() {
+        return status == Status.ENLISTED;
+    }
+
+    // Getters
+    Section getSection() {
+        return section;
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    /** Why the section was rejected, or null if it was not. */
+    Rejection getRejection() {
+        return rejection;
+    }
+
+    /** The section already held, in the cart or the load, that caused the rejection, if any. */
+    Section getOffendingSection() {
+        return offendingSection;
+    }
+
+    Subject getMissingPrerequisite() {
+        return missingPrerequisiteOrdinal < 0 ? null : section.getSubject().getPrerequisite(missingPrerequisiteOrdinal);
+    }
+
+    String getMessage() {
+        if (rejection == null) {
+            return status == Status.ABORTED ? "Another section in the cart was rejected" : null;
+        }
+        switch (rejection) {
+            case ALREADY_ENROLLED:
+                return "Student already enrolled in section " + section.getSectionId();
+            case DUPLICATE_IN_CART:
+                return "Section " + section.getSectionId() + " appears more than once in the cart";
+            case SCHEDULE_CONFLICT:
+                return "Schedule conflict between sections " + offendingSection.getSectionId() +
+                        " and " + section.getSectionId();
+            case SAME_SUBJECT:
+                return "Student already enrolled in subject " + section.getSubject().getSubjectId();
+            case PREREQUISITE_NOT_MET:
+                return "Prerequisite " + getMissingPrerequisite().getSubjectId() +
+                        " not completed for subject " + section.getSubject().getSubjectId();
+            case CAPACITY_REACHED:
+                return "Section " + section.getSectionId() + " is at full capacity";
+            default:
+                throw new AssertionError(rejection);
+        }
+    }
+
+    /** The rejection as a member of the enlistment exception hierarchy, or null if the section was not rejected. */
+    EnlistmentException getFailure() {
+        return getFailure(true);
+    }
+
+    /**
+     * As {@link #getFailure()}, optionally without a stack trace. A rejection is a business
+     * outcome rather than a failure to debug, so callers that only report it can pass false
+     * and skip the cost of filling in the trace.
+     */
+    EnlistmentException getFailure(boolean writableStackTrace) {
+        if (rejection == null) {
+            return null;
+        }
+        String message = getMessage();
+        switch (rejection) {
+            case SCHEDULE_CONFLICT:
+                return new ScheduleConflictException(message, writableStackTrace);
+            case SAME_SUBJECT:
+                return new SameSubjectEnrollmentException(message, writableStackTrace);
+            case PREREQUISITE_NOT_MET:
+                return new PrerequisiteNotMetException(message, writableStackTrace);
+            case CAPACITY_REACHED:
+                return new CapacityReachedException(message, writableStackTrace);
+            default:
+                return new EnlistmentException(message, writableStackTrace);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return section.getSectionId() + " " + status + (rejection != null ? ": " + getMessage() : "");
+    }
+}
@@ -0,0 +1,169 @@
+package com.orangeandbronze;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load client for {@link EnrollmentHttpServer}. Fetches the open sections once, then drives a mix
+ * of enlist, cancel, assess and browse requests from many virtual-thread clients, picking sections
+ * by Zipf popularity like {@link RegistrationLoadDriver}. Prints throughput and latency per
+ * request type, including the network round trip.
+ *
+ * Arguments are key=value pairs, for example:
+ * url=http://localhost:8080 students=20000 operations=200000 clients=2000 enlist=60 cancel=15 assess=15 browse=10
+ *
+ * Student numbers are assumed to run from 0 to students - 1, as the server's synthetic catalog does.
+ */
+public class EnrollmentHttpLoadClient {
+    enum Request {
+        ENLIST, CANCEL, ASSESS, BROWSE
+    }
+
+    private static final Pattern SECTION_ID = Pattern.compile("\"section\":\"([^\"]+)\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int studentCount;
+    private final List<String> sectionIds;
+    private final ZipfSampler sectionPopularity;
+    private final int[] mix;
+    private final Map<Request, LatencyHistogram> latencies;
+    private final Map<Integer, LongAdder> statuses;
+    private final LongAdder failures;
+
+    EnrollmentHttpLoadClient(String baseUrl, int studentCount, double skew, int[] weights) throws IOException,
+            InterruptedException {
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.studentCount = studentCount;
+        this.sectionIds = fetchSectionIds();
+        if (sectionIds.isEmpty()) {
+            throw new IllegalStateException("Server has no open sections");
+        }
+        this.sectionPopularity = new ZipfSampler(sectionIds.size(), skew);
+        this.mix = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Request weights must be non-negative");
+            }
+            total += weights[i];
+            mix[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Request weights must not all be zero");
+        }
+        this.latencies = new EnumMap<>(Request.class);
+        for (Request request : Request.values()) {
+            latencies.put(request, new LatencyHistogram());
+        }
+        this.statuses = new ConcurrentHashMap<>();
+        this.failures = new LongAdder();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = RegistrationLoadDriver.parseOptions(args);
+        EnrollmentHttpLoadClient loadClient = new EnrollmentHttpLoadClient(
+                options.getOrDefault("url", "http://localhost:8080"),
+                RegistrationLoadDriver.intOption(options, "students", 20_000),
+                Double.parseDouble(options.getOrDefault("skew", "1.1")),
+                new int[] {
+                        RegistrationLoadDriver.intOption(options, "enlist", 60),
+                        RegistrationLoadDriver.intOption(options, "cancel", 15),
+                        RegistrationLoadDriver.intOption(options, "assess", 15),
+                        RegistrationLoadDriver.intOption(options, "browse", 10) });
+        long elapsed = loadClient.run(RegistrationLoadDriver.intOption(options, "operations", 200_000),
+                RegistrationLoadDriver.intOption(options, "clients", 2_000));
+        loadClient.report(System.out, elapsed);
+    }
+
+    private List<String> fetchSectionIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/sections")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = SECTION_ID.matcher(response.body());
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /** Sends the given number of requests spread over concurrent clients; returns the wall time in nanoseconds. */
+    long run(int operations, int clients) throws InterruptedException {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int share = operations / clients + (i < operations % clients ? 1 : 0);
+                executor.submit(() -> {
+                    startSignal.await();
+                    for (int j = 0; j < share; j++) {
+                        sendOne();
+                    }
+                    return null;
+                });
+            }
+            start = System.nanoTime();
+            startSignal.countDown();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void sendOne() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int student = random.nextInt(studentCount);
+        String section = sectionIds.get(sectionPopularity.next());
+        int draw = random.nextInt(mix[mix.length - 1]);
+        Request request = draw < mix[0] ? Request.ENLIST
+                : draw < mix[1] ? Request.CANCEL
+                : draw < mix[2] ? Request.ASSESS
+                : Request.BROWSE;
+        HttpRequest.Builder builder = switch (request) {
+            case ENLIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/students/" + student + "/enlist?section=" + section))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case CANCEL -> HttpRequest.newBuilder(URI.create(baseUrl + "/students/" + student + "/cancel?section=" + section))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case ASSESS -> HttpRequest.newBuilder(URI.create(baseUrl + "/students/" + student + "/assessment"));
+            case BROWSE -> HttpRequest.newBuilder(URI.create(baseUrl + "/sections?student=" + student));
+        };
+
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            latencies.get(request).record(System.nanoTime() - begin);
+            statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+        } catch (IOException e) {
+            failures.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void report(PrintStream out, long elapsedNanos) {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        out.printf("%d requests in %.2f s: %.0f requests/s, %d connection failures%n", total, elapsedNanos / 1e9,
+                total / (elapsedNanos / 1e9), failures.sum());
+        out.printf("%-8s %10s %10s %10s %10s %10s%n", "request", "count", "mean(us)", "p50(us)", "p99(us)", "max(us)");
+        for (Map.Entry<Request, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.printf("%-8s %10d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getMeanNanos() / 1e3, histogram.getPercentileNanos(0.50) / 1e3,
+                    histogram.getPercentileNanos(0.99) / 1e3, histogram.getMaxNanos() / 1e3);
+        }
+        new TreeMap<>(statuses).forEach((status, count) -> out.printf("HTTP %d: %d%n", status, count.sum()));
+    }
+}
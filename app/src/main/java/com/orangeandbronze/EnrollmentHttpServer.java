@@ -0,0 +1,360 @@
+package com.orangeandbronze;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.orangeandbronze.exceptions.EnlistmentException;
+
+/**
+ * HTTP front-end over the domain classes, built on the JDK's own server with one virtual thread
+ * per exchange, so blocked clients cost a few kilobytes each rather than a platform thread.
+ *
+ * <pre>{@code
+ * POST /students/{number}/enlist?section=ID[&waitlist=true]
+ * POST /students/{number}/cancel?section=ID
+ * POST /students/{number}/cart?sections=ID,ID,...
+ * GET  /students/{number}/assessment
+ * GET  /sections[?subject=ID][&student=number]
+ * }</pre>
+ * Cancelling drops the enlistment, or failing that the student's place on the section's waitlist.
+ * Browsing lists open sections, of one subject if given, leaving out sections that clash with
+ * the given student's timetable.
+ *
+ * Responses are compact JSON. Enlistment rejections are ordinary 200 responses carrying the
+ * rejection code; 4xx statuses are kept for malformed requests and unknown IDs, and any other
+ * failure is a 500.
+ */
+public class EnrollmentHttpServer {
+    // The listen backlog bounds connections waiting to be accepted, not connections in service
+    private static final int BACKLOG = 8192;
+    private static final Logger LOG = Logger.getLogger(EnrollmentHttpServer.class.getName());
+
+    private final EnrollmentRegistry registry;
+    private final SectionIndex index;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    EnrollmentHttpServer(EnrollmentRegistry registry, SectionIndex index, InetSocketAddress address) throws IOException {
+        this.registry = Objects.requireNonNull(registry);
+        this.index = Objects.requireNonNull(index);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/students/", this::handleStudent);
+        server.createContext("/sections", this::handleSections);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = RegistrationLoadDriver.parseOptions(args);
+        int studentCount = RegistrationLoadDriver.intOption(options, "students", 20_000);
+        int sectionCount = RegistrationLoadDriver.intOption(options, "sections", 2_000);
+        int staff = (sectionCount + Schedule.SLOT_COUNT - 1) / Schedule.SLOT_COUNT;
+        SyntheticUniversity university = new SyntheticUniversity(studentCount, Math.max(4, sectionCount / 3),
+                4, staff, staff, sectionCount, RegistrationLoadDriver.intOption(options, "seed", 42));
+
+        EnrollmentRegistry registry = new EnrollmentRegistry(studentCount);
+        university.getStudents().forEach(registry::register);
+        university.getSections().forEach(registry::register);
+        EnrollmentHttpServer server = new EnrollmentHttpServer(registry, SectionIndex.of(registry),
+                new InetSocketAddress(RegistrationLoadDriver.intOption(options, "port", 8080)));
+        server.start();
+        System.out.printf("Serving %d students and %d sections on port %d%n", studentCount, sectionCount,
+                server.getPort());
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /** Stops accepting connections and waits up to the given number of seconds for open exchanges. */
+    void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleStudent(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            if (path.length != 4) {
+                sendError(exchange, 404, "Unknown resource");
+                return;
+            }
+            Student student = registry.getStudent(parseInt(path[2]));
+            if (student == null) {
+                sendError(exchange, 404, "Unknown student " + path[2]);
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String action = path[3];
+            String method = action.equals("assessment") ? "GET" : "POST";
+            if (!exchange.getRequestMethod().equals(method)) {
+                sendError(exchange, 405, action + " expects " + method);
+                return;
+            }
+            switch (action) {
+                case "enlist" -> enlist(exchange, student, query);
+                case "cancel" -> cancel(exchange, student, query);
+                case "cart" -> enlistCart(exchange, student, query);
+                case "assessment" -> assess(exchange, student);
+                default -> sendError(exchange, 404, "Unknown action " + action);
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendServerError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void enlist(HttpExchange exchange, Student student, Map<String, String> query) throws IOException {
+        Section section = requireSection(exchange, query.get("section"));
+        if (section == null) {
+            return;
+        }
+        EnlistmentResult result = Boolean.parseBoolean(query.get("waitlist"))
+                ? student.enlistOrWaitlist(section)
+                : student.tryEnlist(section);
+        StringBuilder json = new StringBuilder(96);
+        appendResult(json, result);
+        send(exchange, 200, json);
+    }
+
+    private void cancel(HttpExchange exchange, Student student, Map<String, String> query) throws IOException {
+        Section section = requireSection(exchange, query.get("section"));
+        if (section == null) {
+            return;
+        }
+        String status = "CANCELLED";
+        try {
+            student.cancel(section);
+        } catch (EnlistmentException e) {
+            if (!student.leaveWaitlist(section)) {
+                sendError(exchange, 409, e.getMessage());
+                return;
+            }
+            status = "LEFT_WAITLIST";
+        }
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"section\":");
+        appendString(json, section.getSectionId());
+        json.append(",\"status\":\"").append(status).append("\"}");
+        send(exchange, 200, json);
+    }
+
+    private void enlistCart(HttpExchange exchange, Student student, Map<String, String> query) throws IOException {
+        String ids = query.get("sections");
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Missing sections parameter");
+        }
+        List<Section> cart = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            Section section = requireSection(exchange, id);
+            if (section == null) {
+                return;
+            }
+            cart.add(section);
+        }
+        StringBuilder json = new StringBuilder(96 * cart.size());
+        json.append('[');
+        for (EnlistmentResult result : student.enlistAll(cart)) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendResult(json, result);
+        }
+        json.append(']');
+        send(exchange, 200, json);
+    }
+
+    private void assess(HttpExchange exchange, Student student) throws IOException {
+        Assessment assessment = student.assess(FeeSchedule.DEFAULT);
+        StringBuilder json = new StringBuilder(96);
+        json.append("{\"student\":").append(assessment.getStudentNumber())
+                .append(",\"units\":").append(assessment.getUnits())
+                .append(",\"labSubjects\":").append(assessment.getLabSubjects())
+                .append(",\"total\":").append(assessment.getTotalAmount().toPlainString())
+                .append('}');
+        send(exchange, 200, json);
+    }
+
+    private void handleSections(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "sections expects GET");
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            Student student = null;
+            String studentNumber = query.get("student");
+            if (studentNumber != null) {
+                student = registry.getStudent(parseInt(studentNumber));
+                if (student == null) {
+                    sendError(exchange, 404, "Unknown student " + studentNumber);
+                    return;
+                }
+            }
+            List<Section> open = new ArrayList<>();
+            String subjectId = query.get("subject");
+            if (subjectId == null) {
+                Student browsing = student;
+                int mask = student == null ? 0 : student.getOccupiedSlots();
+                registry.forEachSection(section -> {
+                    if ((browsing == null || SectionIndex.fits(section, mask, browsing)) && !section.isAtCapacity()) {
+                        open.add(section);
+                    }
+                });
+            } else {
+                Subject subject = registry.getSubject(subjectId);
+                if (subject == null) {
+                    sendError(exchange, 404, "Unknown subject " + subjectId);
+                    return;
+                }
+                open.addAll(student == null ? index.findOpenSections(subject, 0) : index.findOpenSections(subject, student));
+            }
+
+            StringBuilder json = new StringBuilder(160 * open.size() + 2);
+            json.append('[');
+            for (Section section : open) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                appendSection(json, section);
+            }
+            json.append(']');
+            send(exchange, 200, json);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendServerError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Sends a 404 and returns null for an unknown ID; a missing one is a malformed request
+    private Section requireSection(HttpExchange exchange, String sectionId) throws IOException {
+        if (sectionId == null || sectionId.isEmpty()) {
+            throw new IllegalArgumentException("Missing section parameter");
+        }
+        Section section = registry.getSection(sectionId);
+        if (section == null) {
+            sendError(exchange, 404, "Unknown section " + sectionId);
+        }
+        return section;
+    }
+
+    private static void appendResult(StringBuilder json, EnlistmentResult result) {
+        json.append("{\"section\":");
+        appendString(json, result.getSection().getSectionId());
+        json.append(",\"status\":\"").append(result.getStatus()).append('"');
+        if (result.getRejection() != null) {
+            json.append(",\"rejection\":\"").append(result.getRejection()).append('"');
+        }
+        String message = result.getMessage();
+        if (message != null) {
+            json.append(",\"message\":");
+            appendString(json, message);
+        }
+        json.append('}');
+    }
+
+    private static void appendSection(StringBuilder json, Section section) {
+        json.append("{\"section\":");
+        appendString(json, section.getSectionId());
+        json.append(",\"subject\":");
+        appendString(json, section.getSubject().getSubjectId());
+        json.append(",\"schedule\":");
+        appendString(json, section.getSchedule().toString());
+        json.append(",\"room\":");
+        appendString(json, section.getRoom().getRoomName());
+        json.append(",\"instructor\":");
+        appendString(json, section.getInstructor().getName());
+        json.append(",\"seatsLeft\":").append(section.getAvailableSeats())
+                .append(",\"waitlist\":").append(section.getWaitlistSize())
+                .append('}');
+    }
+
+    static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    // Once headers are out, all that is left is to log the failure and let the exchange close
+    private static void sendServerError(HttpExchange exchange, RuntimeException e) throws IOException {
+        LOG.log(Level.SEVERE, "Failed to handle " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), e);
+        if (exchange.getResponseCode() < 0) {
+            sendError(exchange, 500, "Internal error");
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"error\":");
+        appendString(json, message == null ? "Bad request" : message);
+        json.append('}');
+        send(exchange, status, json);
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.orangeandbronze;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of enlistments, cancellations and completed subjects, written to
+ * memory-mapped segment files. Each record is
+ * {@code [type:1][studentNumber:4][idLength:2][id:idLength][crc32:4]}; a zero type byte or a bad
+ * checksum marks the end of the valid data, so a record torn by a crash is simply dropped. A
+ * cart is one record whose ID is its section IDs joined by commas, which section IDs never
+ * contain, so a crash keeps all of a cart or none of it.
+ *
+ * A record is appended before the change it describes is applied, and a failed append vetoes
+ * the change, so the journal never lags behind memory.
+ *
+ * Appends land in the page cache as soon as they are written, so they survive a JVM crash.
+ * A background thread forces the current segment to disk at a fixed interval (group commit);
+ * callers that need a change to survive a power loss can wait for that with {@link #sync()}.
+ * Install the journal with {@link Student#setListener} after {@link #replay} has restored state.
+ */
+final class EnrollmentJournal implements EnrollmentListener, Closeable {
+    static final byte ENLISTED = 1;
+    static final byte CANCELLED = 2;
+    static final byte SUBJECT_COMPLETED = 3;
+    static final byte CART_ENLISTED = 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 1 + 4 + 2;
+    private static final int CHECKSUM_SIZE = 4;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalMillis;
+    private final CRC32 checksum;
+    private final Thread flusher;
+
+    // Guarded by this
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private long appended;
+    private long durable;
+    private boolean closed;
+
+    EnrollmentJournal(Path directory, int segmentSize, long flushIntervalMillis) throws IOException {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1 KB");
+        }
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.checksum = new CRC32();
+
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            openSegment(1, 0);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            openSegment(segmentNumberOf(last), recoverEnd(last));
+        }
+
+        this.flusher = new Thread(this::flushLoop, "enrollment-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Positions the journal after the last valid record, zeroing whatever a crash left behind it
+    private void openSegment(int number, int position) throws IOException {
+        Path path = directory.resolve(segmentName(number));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+        segmentNumber = number;
+        if (!fresh) {
+            byte[] zeros = new byte[Math.min(64 * 1024, segment.limit())];
+            segment.position(position);
+            while (segment.hasRemaining()) {
+                segment.put(zeros, 0, Math.min(zeros.length, segment.remaining()));
+            }
+        }
+        segment.position(position);
+    }
+
+    private static int recoverEnd(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 checksum = new CRC32();
+            int length;
+            while ((length = validRecordLength(buffer, checksum)) > 0) {
+                buffer.position(buffer.position() + length);
+            }
+            return buffer.position();
+        }
+    }
+
+    @Override
+    public void onEnlisted(Student student, Section section) {
+        append(ENLISTED, student.getStudentNumber(), section.getSectionId());
+    }
+
+    @Override
+    public void onEnlistedAll(Student student, List<Section> sections) {
+        if (sections.size() == 1) {
+            onEnlisted(student, sections.get(0));
+            return;
+        }
+        StringJoiner ids = new StringJoiner(",");
+        for (Section section : sections) {
+            ids.add(section.getSectionId());
+        }
+        append(CART_ENLISTED, student.getStudentNumber(), ids.toString());
+    }
+
+    @Override
+    public void onCancelled(Student student, Section section) {
+        append(CANCELLED, student.getStudentNumber(), section.getSectionId());
+    }
+
+    @Override
+    public void onSubjectCompleted(Student student, Subject subject) {
+        append(SUBJECT_COMPLETED, student.getStudentNumber(), subject.getSubjectId());
+    }
+
+    // Everything that can fail is checked before the first byte is written
+    private synchronized void append(byte type, int studentNumber, String id) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("ID is too long to journal: " + id);
+        }
+        int length = HEADER_SIZE + idBytes.length + CHECKSUM_SIZE;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record does not fit in one journal segment: " + id);
+        }
+        if (segment.remaining() < length) {
+            rollOver();
+        }
+        int start = segment.position();
+        segment.put(type).putInt(studentNumber).putShort((short) idBytes.length).put(idBytes);
+        checksum.reset();
+        checksum.update(segment.slice(start, length - CHECKSUM_SIZE));
+        segment.putInt((int) checksum.getValue());
+        appended++;
+    }
+
+    private void rollOver() {
+        try {
+            segment.force();
+            durable = appended;
+            channel.close();
+            openSegment(segmentNumber + 1, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll over to a new journal segment", e);
+        }
+    }
+
+    /** Blocks until every record appended before this call has been forced to disk. */
+    void sync() throws InterruptedException {
+        synchronized (this) {
+            long target = appended;
+            notifyAll();
+            while (durable < target && !closed) {
+                wait();
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer current;
+            long target;
+            synchronized (this) {
+                try {
+                    wait(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+                if (durable == appended) {
+                    continue;
+                }
+                current = segment;
+                target = appended;
+            }
+            // Forcing outside the lock lets appends carry on while the disk catches up
+            current.force();
+            synchronized (this) {
+                durable = Math.max(durable, target);
+                notifyAll();
+            }
+        }
+    }
+
+    synchronized long getAppendedCount() {
+        return appended;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            segment.force();
+            durable = appended;
+            channel.close();
+            notifyAll();
+        }
+        flusher.interrupt();
+    }
+
+    /**
+     * Applies every valid record in the journal directory, in order, to the object graph and
+     * returns how many were applied. Changes are restored without revalidation, because they
+     * were validated when they were first made.
+     */
+    static long replay(Path directory, IntFunction<Student> students, Function<String, Section> sections,
+            Function<String, Subject> subjects) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long applied = 0;
+        CRC32 checksum = new CRC32();
+        for (Path path : listSegments(directory)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int length;
+                while ((length = validRecordLength(buffer, checksum)) > 0) {
+                    int start = buffer.position();
+                    byte type = buffer.get(start);
+                    int studentNumber = buffer.getInt(start + 1);
+                    Student student = students.apply(studentNumber);
+                    if (student == null) {
+                        throw new IllegalStateException("Journal refers to unknown student " + studentNumber);
+                    }
+                    byte[] idBytes = new byte[Short.toUnsignedInt(buffer.getShort(start + 5))];
+                    buffer.get(start + HEADER_SIZE, idBytes);
+                    String id = new String(idBytes, StandardCharsets.UTF_8);
+                    if (type == SUBJECT_COMPLETED) {
+                        student.restoreCompletedSubject(resolve(subjects, id, "subject"));
+                    } else if (type == ENLISTED) {
+                        student.restoreEnlistment(resolve(sections, id, "section"));
+                    } else if (type == CART_ENLISTED) {
+                        // Resolve the whole cart first so an unknown section restores none of it
+                        List<Section> cart = new ArrayList<>();
+                        for (String sectionId : id.split(",")) {
+                            cart.add(resolve(sections, sectionId, "section"));
+                        }
+                        cart.forEach(student::restoreEnlistment);
+                    } else {
+                        student.restoreCancellation(resolve(sections, id, "section"));
+                    }
+                    applied++;
+                    buffer.position(start + length);
+                }
+            }
+        }
+        return applied;
+    }
+
+    private static <T> T resolve(Function<String, T> lookup, String id, String kind) {
+        T value = lookup.apply(id);
+        if (value == null) {
+            throw new IllegalStateException("Journal refers to unknown " + kind + " " + id);
+        }
+        return value;
+    }
+
+    // Length of the record at the buffer's position, or 0 if there is no intact record there
+    private static int validRecordLength(ByteBuffer buffer, CRC32 checksum) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE + CHECKSUM_SIZE) {
+            return 0;
+        }
+        byte type = buffer.get(start);
+        if (type != ENLISTED && type != CANCELLED && type != SUBJECT_COMPLETED && type != CART_ENLISTED) {
+            return 0;
+        }
+        int idLength = Short.toUnsignedInt(buffer.getShort(start + 5));
+        int length = HEADER_SIZE + idLength + CHECKSUM_SIZE;
+        if (idLength <= 0 || buffer.remaining() < length) {
+            return 0;
+        }
+        checksum.reset();
+        checksum.update(buffer.slice(start, length - CHECKSUM_SIZE));
+        return (int) checksum.getValue() == buffer.getInt(start + length - CHECKSUM_SIZE) ? length : 0;
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static String segmentName(int number) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    private static int segmentNumberOf(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
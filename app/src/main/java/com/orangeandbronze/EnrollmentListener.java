@@ -0,0 +1,34 @@
+package com.orangeandbronze;
+
+import java.util.List;
+
+/**
+ * Receives every change to a student's enrollment state. Callbacks run while the student's
+ * monitor is held, so they see each student's changes in order and must return quickly.
+ *
+ * Each callback runs before the change is applied. A callback that throws vetoes the change:
+ * the student and section are left as they were and the exception reaches the caller.
+ */
+interface EnrollmentListener {
+    EnrollmentListener NONE = new EnrollmentListener() {
+    };
+
+    default void onEnlisted(Student student, Section section) {
+    }
+
+    /**
+     * A whole cart about to be admitted. Throwing vetoes the entire cart, so implementations
+     * that record changes should record all of the cart or none of it.
+     */
+    default void onEnlistedAll(Student student, List<Section> sections) {
+        for (Section section : sections) {
+            onEnlisted(student, section);
+        }
+    }
+
+    default void onCancelled(Student student, Section section) {
+    }
+
+    default void onSubjectCompleted(Student student, Subject subject) {
+    }
+}
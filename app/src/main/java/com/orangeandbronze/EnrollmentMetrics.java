@@ -0,0 +1,139 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.*;
+
+/**
+ * Hot-path counters and latency histograms for enlistment, cancellation and assessment.
+ * Counters are {@link LongAdder}s and histograms stripe their buckets, so recording from many
+ * threads does not contend. Install with {@link Student#setMetrics}; when none is installed,
+ * students skip the clock reads entirely.
+ *
+ * A full section seen by {@link Student#enlistOrWaitlist} counts once as a capacity rejection
+ * and once as waitlisted.
+ */
+final class EnrollmentMetrics {
+    static final String DOMAIN = "com.orangeandbronze";
+
+    private final LongAdder enlisted;
+    private final LongAdder waitlisted;
+    private final LongAdder aborted;
+    private final LongAdder[] rejected;
+    private final LatencyHistogram enlistLatency;
+    private final LatencyHistogram cancelLatency;
+    private final LatencyHistogram assessmentLatency;
+
+    EnrollmentMetrics() {
+        this.enlisted = new LongAdder();
+        this.waitlisted = new LongAdder();
+        this.aborted = new LongAdder();
+        this.rejected = new LongAdder[EnlistmentResult.Rejection.values().length];
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+        this.enlistLatency = new LatencyHistogram();
+        this.cancelLatency = new LatencyHistogram();
+        this.assessmentLatency = new LatencyHistogram();
+    }
+
+    void recordOutcome(EnlistmentResult result) {
+        switch (result.getStatus()) {
+            case ENLISTED -> enlisted.increment();
+            case WAITLISTED -> waitlisted.increment();
+            case ABORTED -> aborted.increment();
+            case REJECTED -> rejected[result.getRejection().ordinal()].increment();
+        }
+    }
+
+    void recordEnlistment(EnlistmentResult result, long nanos) {
+        recordOutcome(result);
+        enlistLatency.record(nanos);
+    }
+
+    void recordCancellation(long nanos) {
+        cancelLatency.record(nanos);
+    }
+
+    void recordAssessment(long nanos) {
+        assessmentLatency.record(nanos);
+    }
+
+    long getEnlistedCount() {
+        return enlisted.sum();
+    }
+
+    long getWaitlistedCount() {
+        return waitlisted.sum();
+    }
+
+    long getAbortedCount() {
+        return aborted.sum();
+    }
+
+    long getRejectedCount(EnlistmentResult.Rejection rejection) {
+        return rejected[rejection.ordinal()].sum();
+    }
+
+    LatencyHistogram getEnlistLatency() {
+        return enlistLatency;
+    }
+
+    LatencyHistogram getCancelLatency() {
+        return cancelLatency;
+    }
+
+    LatencyHistogram getAssessmentLatency() {
+        return assessmentLatency;
+    }
+
+    /** Registers the enlistment counters and latency histograms as {@code com.orangeandbronze:type=Enlistment}. */
+    ObjectName registerMBean(MBeanServer server) throws JMException {
+        AttributeMBean bean = new AttributeMBean("Enlistment outcomes and latencies")
+                .addLong("EnlistedCount", this::getEnlistedCount)
+                .addLong("WaitlistedCount", this::getWaitlistedCount)
+                .addLong("AbortedCount", this::getAbortedCount);
+        for (EnlistmentResult.Rejection rejection : EnlistmentResult.Rejection.values()) {
+            bean.addLong("Rejected" + camelCase(rejection.name()) + "Count", () -> getRejectedCount(rejection));
+        }
+        addLatency(bean, "Enlist", enlistLatency);
+        addLatency(bean, "Cancel", cancelLatency);
+        addLatency(bean, "Assessment", assessmentLatency);
+
+        ObjectName name = new ObjectName(DOMAIN, "type", "Enlistment");
+        server.registerMBean(bean, name);
+        return name;
+    }
+
+    /** Registers seat fill gauges for the section as {@code com.orangeandbronze:type=Section,name=<section ID>}. */
+    static ObjectName registerSectionMBean(MBeanServer server, Section section) throws JMException {
+        AttributeMBean bean = new AttributeMBean("Seat usage of section " + section.getSectionId())
+                .addInt("Capacity", () -> section.getRoom().getCapacity())
+                .addInt("EnrollmentCount", section::getEnrollmentCount)
+                .addInt("WaitlistSize", section::getWaitlistSize)
+                .addDouble("FillRate", () -> (double) section.getEnrollmentCount() / section.getRoom().getCapacity());
+
+        Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", "Section");
+        properties.put("name", section.getSectionId());
+        ObjectName name = new ObjectName(DOMAIN, properties);
+        server.registerMBean(bean, name);
+        return name;
+    }
+
+    private static void addLatency(AttributeMBean bean, String prefix, LatencyHistogram histogram) {
+        bean.addLong(prefix + "Count", histogram::getCount)
+                .addDouble(prefix + "MeanNanos", histogram::getMeanNanos)
+                .addLong(prefix + "P50Nanos", () -> histogram.getPercentileNanos(0.50))
+                .addLong(prefix + "P99Nanos", () -> histogram.getPercentileNanos(0.99))
+                .addLong(prefix + "MaxNanos", histogram::getMaxNanos);
+    }
+
+    private static String camelCase(String constant) {
+        StringBuilder result = new StringBuilder();
+        for (String word : constant.split("_")) {
+            result.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,228 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Central index of everything the enrollment system knows about. Students are keyed by their
+ * primitive student number; subjects, sections, rooms and instructors sit in arrays indexed by
+ * their dense ordinal, so lookups never box and iteration runs in ordinal order.
+ *
+ * Registration is serialized; lookups are lock-free apart from a rare retry while the student
+ * table is being resized.
+ */
+final class EnrollmentRegistry {
+    private final StampedLock studentLock;
+    private final IntObjectMap<Student> students;
+    private final OrdinalTable<Subject> subjects;
+    private final OrdinalTable<Section> sections;
+    private final OrdinalTable<Room> rooms;
+    private final OrdinalTable<Instructor> instructors;
+
+    EnrollmentRegistry() {
+        this(16);
+    }
+
+    EnrollmentRegistry(int expectedStudents) {
+        this.studentLock = new StampedLock();
+        this.students = new IntObjectMap<>(expectedStudents);
+        this.subjects = new OrdinalTable<>();
+        this.sections = new OrdinalTable<>();
+        this.rooms = new OrdinalTable<>();
+        this.instructors = new OrdinalTable<>();
+    }
+
+    /** Registers the student, returning the student already registered under that number if there is one. */
+    Student register(Student student) {
+        Objects.requireNonNull(student);
+        long stamp = studentLock.writeLock();
+        try {
+            return students.putIfAbsent(student.getStudentNumber(), student);
+        } finally {
+            studentLock.unlockWrite(stamp);
+        }
+    }
+
+    Student getOrRegisterStudent(int studentNumber) {
+        Student student = getStudent(studentNumber);
+        return student != null ? student : register(new Student(studentNumber));
+    }
+
+    Student getStudent(int studentNumber) {
+        long stamp = studentLock.tryOptimisticRead();
+        Student student = stamp != 0 ? optimisticGet(studentNumber) : null;
+        if (stamp != 0 && studentLock.validate(stamp)) {
+            return student;
+        }
+        stamp = studentLock.readLock();
+        try {
+            return students.get(studentNumber);
+        } finally {
+            studentLock.unlockRead(stamp);
+        }
+    }
+
+    // A concurrent resize can leave the table half-copied; validate() discards whatever this saw
+    private Student optimisticGet(int studentNumber) {
+        try {
+            return students.get(studentNumber);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Registers the subject along with its prerequisites. A subject already registered is not
+     * walked again, so prerequisites added to it afterwards must be registered on their own.
+     */
+    void register(Subject subject) {
+        if (subjects.get(subject.getOrdinal()) == subject) {
+            return;
+        }
+        subjects.put(subject.getOrdinal(), subject);
+        for (Subject prerequisite : subject.getPrerequisites()) {
+            register(prerequisite);
+        }
+    }
+
+    void register(Room room) {
+        rooms.put(room.getOrdinal(), room);
+    }
+
+    void register(Instructor instructor) {
+        instructors.put(instructor.getOrdinal(), instructor);
+    }
+
+    /** Registers the section along with its subject, room and instructor. */
+    void register(Section section) {
+        register(section.getSubject());
+        register(section.getRoom());
+        register(section.getInstructor());
+        sections.put(section.getOrdinal(), section);
+    }
+
+    Subject getSubject(String subjectId) {
+        return subjects.get(Curriculum.findOrdinal(subjectId));
+    }
+
+    Section getSection(String sectionId) {
+        return sections.get(Section.findOrdinal(sectionId));
+    }
+
+    Room getRoom(String roomName) {
+        return rooms.get(Room.findOrdinal(roomName));
+    }
+
+    Instructor getInstructor(String name) {
+        return instructors.get(Instructor.findOrdinal(name));
+    }
+
+    Subject subjectAt(int ordinal) {
+        return subjects.get(ordinal);
+    }
+
+    Section sectionAt(int ordinal) {
+        return sections.get(ordinal);
+    }
+
+    Room roomAt(int ordinal) {
+        return rooms.get(ordinal);
+    }
+
+    Instructor instructorAt(int ordinal) {
+        return instructors.get(ordinal);
+    }
+
+    void forEachStudent(Consumer<? super Student> action) {
+        long stamp = studentLock.readLock();
+        try {
+            students.forEachValue(action);
+        } finally {
+            studentLock.unlockRead(stamp);
+        }
+    }
+
+    void forEachSubject(Consumer<? super Subject> action) {
+        subjects.forEach(action);
+    }
+
+    void forEachSection(Consumer<? super Section> action) {
+        sections.forEach(action);
+    }
+
+    void forEachRoom(Consumer<? super Room> action) {
+        rooms.forEach(action);
+    }
+
+    void forEachInstructor(Consumer<? super Instructor> action) {
+        instructors.forEach(action);
+    }
+
+    int getStudentCount() {
+        long stamp = studentLock.readLock();
+        try {
+            return students.size();
+        } finally {
+            studentLock.unlockRead(stamp);
+        }
+    }
+
+    int getSubjectCount() {
+        return subjects.size();
+    }
+
+    int getSectionCount() {
+        return sections.size();
+    }
+
+    int getRoomCount() {
+        return rooms.size();
+    }
+
+    int getInstructorCount() {
+        return instructors.size();
+    }
+
+    /**
+     * Array indexed by ordinal. Ordinals are dense per kind, so the array stays compact; it may
+     * have gaps for objects that were created but never registered here.
+     */
+    private static final class OrdinalTable<T> {
+        private volatile Object[] entries = new Object[16];
+        private int size;
+
+        synchronized void put(int ordinal, T value) {
+            Object[] current = entries;
+            if (ordinal >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, ordinal + 1));
+            }
+            if (current[ordinal] == null) {
+                size++;
+            } else if (current[ordinal] != value) {
+                throw new IllegalArgumentException("A different object is already registered under the same ID");
+            }
+            current[ordinal] = value;
+            entries = current;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int ordinal) {
+            Object[] current = entries;
+            return ordinal >= 0 && ordinal < current.length ? (T) current[ordinal] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(Consumer<? super T> action) {
+            for (Object entry : entries) {
+                if (entry != null) {
+                    action.accept((T) entry);
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -38,23 +38,15 @@ public class EnrollmentSystemDemo {
             Instructor drLab = new Instructor("Dr. Lab");
             
             // Create schedules
-            Schedule scheduleMTH830 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-            Schedule scheduleTF1000 = new Schedule(Schedule.Days.TF, Schedule.Period.H1000_1130);
-            Schedule scheduleWS1130 = new Schedule(Schedule.Days.WS, Schedule.Period.H1130_1300);
+            Schedule scheduleMTH830 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+            Schedule scheduleTF1000 = Schedule.of(Schedule.Days.TF, Schedule.Period.H1000_1130);
+            Schedule scheduleWS1130 = Schedule.of(Schedule.Days.WS, Schedule.Period.H1130_1300);
             
-            // Create sections
+            // Create sections (each claims its room and instructor slot as it is created)
             Section mathSection = new Section("MATH101A", math101, scheduleMTH830, roomA101, drSmith);
             Section physSection = new Section("PHYS101A", phys101, scheduleTF1000, roomB101, drJones);
             Section labSection = new Section("CHEM101LA", chem101L, scheduleWS1130, labRoom, drLab);
             
-            // Assign sections to rooms and instructors (for conflict checking)
-            roomA101.assignSection(mathSection);
-            roomB101.assignSection(physSection);
-            labRoom.assignSection(labSection);
-            drSmith.assignSection(mathSection);
-            drJones.assignSection(physSection);
-            drLab.assignSection(labSection);
-            
             System.out.println("=== Student Enrollment System Demo ===\n");
             
             // Demonstrate successful enrollment
@@ -97,7 +89,7 @@ public class EnrollmentSystemDemo {
             
             // Try to enroll second student to show schedule conflict
             try {
-                Schedule conflictingSchedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+                Schedule conflictingSchedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
                 Section conflictingSection = new Section("PHYS101B", phys101, conflictingSchedule, roomB101, drJones);
                 student1.enlist(conflictingSection);
             } catch (ScheduleConflictException e) {
@@ -106,7 +98,7 @@ public class EnrollmentSystemDemo {
             
             // Try to enroll in subject with unmet prerequisite
             try {
-                Section advancedMathSection = new Section("MATH201A", math201, scheduleTF1000, roomB101, drJones);
+                Section advancedMathSection = new Section("MATH201A", math201, scheduleWS1130, roomB101, drJones);
                 Student newStudent = new Student(99999);
                 newStudent.enlist(advancedMathSection);
             } catch (PrerequisiteNotMetException e) {
@@ -0,0 +1,58 @@
+package com.orangeandbronze;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Tuition rates, converted once into whole centavos so that assessing a student is plain
+ * long arithmetic. VAT is rounded HALF_UP to the centavo, as before.
+ */
+final class FeeSchedule {
+    static final FeeSchedule DEFAULT = new FeeSchedule(new BigDecimal("2345.67"), new BigDecimal("1234.56"),
+            new BigDecimal("3456.78"), new BigDecimal("0.12"));
+
+    private final long unitFee;
+    private final long labFee;
+    private final long miscFee;
+    // The VAT rate is vatNumerator / vatDenominator, with the denominator a power of ten
+    private final long vatNumerator;
+    private final long vatDenominator;
+
+    FeeSchedule(BigDecimal unitFee, BigDecimal labFee, BigDecimal miscFee, BigDecimal vatRate) {
+        this.unitFee = toCentavos(unitFee, "Unit fee");
+        this.labFee = toCentavos(labFee, "Lab fee");
+        this.miscFee = toCentavos(miscFee, "Misc fee");
+        if (vatRate.signum() < 0) {
+            throw new IllegalArgumentException("VAT rate must not be negative");
+        }
+        BigDecimal rate = vatRate.stripTrailingZeros();
+        if (rate.scale() < 0) {
+            rate = rate.setScale(0);
+        }
+        this.vatNumerator = rate.unscaledValue().longValueExact();
+        this.vatDenominator = BigDecimal.ONE.movePointRight(rate.scale()).longValueExact();
+    }
+
+    private static long toCentavos(BigDecimal amount, String name) {
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        try {
+            return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(name + " must be a whole number of centavos", e);
+        }
+    }
+
+    /** Total amount due in centavos, VAT included. */
+    long totalCentavos(int units, int labSubjects) {
+        long base = Math.addExact(Math.addExact(Math.multiplyExact(unitFee, units),
+                Math.multiplyExact(labFee, labSubjects)), miscFee);
+        long vat = Math.addExact(Math.multiplyExact(base, vatNumerator), vatDenominator / 2) / vatDenominator;
+        return Math.addExact(base, vat);
+    }
+
+    BigDecimal assess(int units, int labSubjects) {
+        return BigDecimal.valueOf(totalCentavos(units, labSubjects), 2);
+    }
+}
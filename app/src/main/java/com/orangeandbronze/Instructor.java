@@ -1,22 +1,64 @@
 package com.orangeandbronze;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 class Instructor {
+    private static final Interner ORDINALS = new Interner();
+
     private final String name;
+    private final int ordinal;
     private final Set<Section> assignedSections;
+    private final SlotTable slots;
 
     Instructor(String name) {
         this.name = Objects.requireNonNull(name);
-        this.assignedSections = new HashSet<>();
+        this.ordinal = ORDINALS.ordinalOf(name);
+        this.assignedSections = ConcurrentHashMap.newKeySet();
+        this.slots = new SlotTable();
     }
 
+    // Sections claim their slot when they are created; this is a no-op for a section that already holds it
     void assignSection(Section section) {
+        if (!claimSlot(section)) {
+            throw new IllegalArgumentException("Instructor " + name + " already has a section at " + section.getSchedule());
+        }
+    }
+
+    boolean claimSlot(Section section) {
+        if (!slots.claim(section)) {
+            return false;
+        }
+        assignedSections.add(section);
+        return true;
+    }
+
+    void installSection(Section section) {
+        slots.install(section);
         assignedSections.add(section);
     }
 
     void removeSection(Section section) {
-        assignedSections.remove(section);
+        if (assignedSections.remove(section)) {
+            slots.release(section);
+        }
+    }
+
+    boolean isFree(Schedule schedule) {
+        return slots.isFree(schedule);
+    }
+
+    Section getSectionAt(Schedule schedule) {
+        return slots.getOccupant(schedule);
+    }
+
+    List<Schedule> getFreeSchedules() {
+        return slots.getFreeSchedules();
+    }
+
+    /** The ordinal already given to the instructor name, or -1 if no such instructor was ever created. */
+    static int findOrdinal(String name) {
+        return ORDINALS.find(name);
     }
 
     // Getters
@@ -24,6 +66,10 @@ class Instructor {
         return name;
     }
 
+    int getOrdinal() {
+        return ordinal;
+    }
+
     Set<Section> getAssignedSections() {
         return new HashSet<>(assignedSections);
     }
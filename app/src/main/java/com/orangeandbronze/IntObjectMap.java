@@ -0,0 +1,114 @@
+package com.orangeandbronze;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from int keys to values, with no boxing and no per-entry objects.
+ * Not thread-safe; callers provide their own locking.
+ */
+final class IntObjectMap<V> {
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private boolean hasFreeKey;
+    private Object freeKeyValue;
+
+    IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        this.values = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        if (key == FREE) {
+            return hasFreeKey ? (V) freeKeyValue : null;
+        }
+        int[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = keys.length - 1;
+        // Bounded so a reader racing a resize cannot spin forever
+        for (int probes = 0, index = mix(key) & mask; probes < keys.length; probes++, index = (index + 1) & mask) {
+            int candidate = keys[index];
+            if (candidate == key) {
+                return (V) values[index];
+            }
+            if (candidate == FREE) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** Associates the value with the key unless the key is already present; returns the value now mapped. */
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(int key, V value) {
+        if (key == FREE) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                freeKeyValue = value;
+                size++;
+            }
+            return (V) freeKeyValue;
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != FREE) {
+            if (keys[index] == key) {
+                return (V) values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> action) {
+        if (hasFreeKey) {
+            action.accept((V) freeKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept((V) values[i]);
+            }
+        }
+    }
+
+    private void resize() {
+        int[] newKeys = new int[keys.length * 2];
+        Arrays.fill(newKeys, FREE);
+        Object[] newValues = new Object[values.length * 2];
+        int mask = newKeys.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                int index = mix(keys[i]) & mask;
+                while (newKeys[index] != FREE) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = keys[i];
+                newValues[index] = values[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    // Student numbers are often sequential; spread them so probes stay short
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
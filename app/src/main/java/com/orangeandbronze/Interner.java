@@ -0,0 +1,34 @@
+package com.orangeandbronze;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out dense ordinals 0, 1, 2, ... per distinct ID, so equal IDs always get the same
+ * ordinal and ordinal-indexed arrays can replace hash lookups.
+ */
+final class Interner {
+    private final Map<String, Integer> ordinals;
+    private final AtomicInteger nextOrdinal;
+
+    Interner() {
+        this.ordinals = new ConcurrentHashMap<>();
+        this.nextOrdinal = new AtomicInteger();
+    }
+
+    int ordinalOf(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal != null ? ordinal : ordinals.computeIfAbsent(id, key -> nextOrdinal.getAndIncrement());
+    }
+
+    /** The ordinal already given to the ID, or -1 if it has none. */
+    int find(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    int size() {
+        return nextOrdinal.get();
+    }
+}
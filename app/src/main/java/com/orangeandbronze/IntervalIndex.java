@@ -0,0 +1,116 @@
+package com.orangeandbronze;
+
+import java.util.Arrays;
+
+/**
+ * The meetings of a set of non-overlapping schedules, each tagged with its owner, kept sorted
+ * by start in parallel primitive arrays. Since no two intervals overlap, their ends are sorted
+ * too, so the only interval that can overlap [start, end) is the last one starting before end:
+ * an overlap query is one binary search, O(log n). Adding or removing shifts the arrays.
+ *
+ * Not thread-safe; owners guard it with their own lock.
+ */
+final class IntervalIndex<T> {
+    private int[] starts;
+    private int[] ends;
+    private Object[] owners;
+    private int size;
+
+    IntervalIndex() {
+        this.starts = new int[4];
+        this.ends = new int[4];
+        this.owners = new Object[4];
+    }
+
+    /** The owner of an interval overlapping [start, end) in week minutes, or null if none does. */
+    @SuppressWarnings("unchecked")
+    T findOverlap(int start, int end) {
+        int i = lastStartingBefore(end);
+        return i >= 0 && ends[i] > start ? (T) owners[i] : null;
+    }
+
+    /** The owner of an interval overlapping any of the schedule's meetings, or null if none does. */
+    T findOverlap(Schedule schedule) {
+        for (int i = 0; i < schedule.getMeetingCount(); i++) {
+            T owner = findOverlap(schedule.getMeetingStart(i), schedule.getMeetingEnd(i));
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    /** Adds every meeting of the schedule; throws if any of them overlaps one already here. */
+    void add(Schedule schedule, T owner) {
+        T clashing = findOverlap(schedule);
+        if (clashing != null) {
+            throw new IllegalArgumentException(schedule + " overlaps the schedule of " + clashing);
+        }
+        for (int m = 0; m < schedule.getMeetingCount(); m++) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            int at = lastStartingBefore(schedule.getMeetingStart(m)) + 1;
+            System.arraycopy(starts, at, starts, at + 1, size - at);
+            System.arraycopy(ends, at, ends, at + 1, size - at);
+            System.arraycopy(owners, at, owners, at + 1, size - at);
+            starts[at] = schedule.getMeetingStart(m);
+            ends[at] = schedule.getMeetingEnd(m);
+            owners[at] = owner;
+            size++;
+        }
+    }
+
+    /** Removes the schedule's meetings if the owner holds them; returns whether it did. */
+    boolean remove(Schedule schedule, T owner) {
+        boolean removed = false;
+        for (int m = 0; m < schedule.getMeetingCount(); m++) {
+            int i = lastStartingBefore(schedule.getMeetingStart(m) + 1);
+            if (i >= 0 && starts[i] == schedule.getMeetingStart(m) && owners[i] == owner) {
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                System.arraycopy(owners, i + 1, owners, i, size - i - 1);
+                owners[--size] = null;
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /** Owner of the i-th interval in start order; an owner with several meetings appears several times. */
+    @SuppressWarnings("unchecked")
+    T getOwner(int i) {
+        return (T) owners[i];
+    }
+
+    /** Start of the i-th interval, in week minutes. */
+    int getStart(int i) {
+        return starts[i];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Number of intervals, not owners. */
+    int size() {
+        return size;
+    }
+
+    // Index of the last interval with start < limit, or -1
+    private int lastStartingBefore(int limit) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < limit) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
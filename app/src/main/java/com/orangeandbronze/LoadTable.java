@@ -0,0 +1,128 @@
+package com.orangeandbronze;
+
+import java.util.function.Consumer;
+
+/**
+ * The sections of one load or cart, no two of them meeting at the same time. Slotted sections
+ * sit in a slot-indexed array with a bitmap of the slots held, so the standard case is a bit
+ * test and an array read; free-form sections go into an interval index that is only created
+ * once one turns up.
+ *
+ * Not thread-safe; a student's table is guarded by the student's monitor.
+ */
+final class LoadTable {
+    private final Section[] bySlot;
+    private int slottedMask;
+    // Every slot overlapped by a free-form section, so slotted lookups know when to look further
+    private int freeFormMask;
+    private IntervalIndex<Section> freeForm;
+    private int size;
+
+    LoadTable() {
+        this.bySlot = new Section[Schedule.SLOT_COUNT];
+    }
+
+    /** A section in the table whose schedule overlaps the given one, or null if there is none. */
+    Section findClash(Schedule schedule) {
+        int mask = schedule.getSlotMask();
+        if (schedule.isSlotted()) {
+            if ((slottedMask & mask) != 0) {
+                return bySlot[schedule.getSlot()];
+            }
+            return (freeFormMask & mask) != 0 ? freeForm.findOverlap(schedule) : null;
+        }
+        int clashing = slottedMask & mask;
+        if (clashing != 0) {
+            return bySlot[Integer.numberOfTrailingZeros(clashing)];
+        }
+        return freeForm == null ? null : freeForm.findOverlap(schedule);
+    }
+
+    boolean contains(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            Section atSlot = bySlot[schedule.getSlot()];
+            return atSlot != null && atSlot.equals(section);
+        }
+        Section clashing = freeForm == null ? null : freeForm.findOverlap(schedule);
+        return clashing != null && clashing.equals(section);
+    }
+
+    /** Adds a section that clashes with nothing already in the table. */
+    void add(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            bySlot[schedule.getSlot()] = section;
+            slottedMask |= schedule.getSlotMask();
+        } else {
+            if (freeForm == null) {
+                freeForm = new IntervalIndex<>();
+            }
+            freeForm.add(schedule, section);
+            freeFormMask |= schedule.getSlotMask();
+        }
+        size++;
+    }
+
+    void remove(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            bySlot[schedule.getSlot()] = null;
+            slottedMask &= ~schedule.getSlotMask();
+            size--;
+        } else if (freeForm != null && freeForm.remove(schedule, section)) {
+            int mask = 0;
+            for (int i = 0; i < freeForm.size(); i++) {
+                mask |= freeForm.getOwner(i).getSchedule().getSlotMask();
+            }
+            freeFormMask = mask;
+            size--;
+        }
+    }
+
+    // Runs on every enlistment, so it loops directly and allocates nothing
+    Section findBySubject(Subject subject) {
+        if (size == 0) {
+            return null;
+        }
+        for (int bits = slottedMask; bits != 0; bits &= bits - 1) {
+            Section section = bySlot[Integer.numberOfTrailingZeros(bits)];
+            if (section.getSubject().equals(subject)) {
+                return section;
+            }
+        }
+        for (int i = 0; freeForm != null && i < freeForm.size(); i++) {
+            if (freeForm.getOwner(i).getSubject().equals(subject)) {
+                return freeForm.getOwner(i);
+            }
+        }
+        return null;
+    }
+
+    /** Calls the action once per section, slotted sections first in slot order. */
+    void forEach(Consumer<? super Section> action) {
+        for (int bits = slottedMask; bits != 0; bits &= bits - 1) {
+            action.accept(bySlot[Integer.numberOfTrailingZeros(bits)]);
+        }
+        for (int i = 0; freeForm != null && i < freeForm.size(); i++) {
+            Section section = freeForm.getOwner(i);
+            // Visit each free-form section once, at its first meeting
+            if (freeForm.getStart(i) == section.getSchedule().getMeetingStart(0)) {
+                action.accept(section);
+            }
+        }
+    }
+
+    /** Slots held by slotted sections or overlapped by free-form ones. */
+    int getOccupiedSlots() {
+        return slottedMask | freeFormMask;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,118 @@
+package com.orangeandbronze;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitset over dense ordinals. Unlike java.util.BitSet it can answer
+ * "is every member of that set also in this one" without allocating.
+ */
+final class OrdinalSet {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] words;
+
+    OrdinalSet() {
+        this.words = EMPTY;
+    }
+
+    private OrdinalSet(long[] words) {
+        this.words = words;
+    }
+
+    OrdinalSet copy() {
+        return new OrdinalSet(words.clone());
+    }
+
+    void add(int ordinal) {
+        int index = ordinal >>> 6;
+        if (index >= words.length) {
+            words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+        }
+        words[index] |= 1L << ordinal;
+    }
+
+    void remove(int ordinal) {
+        int index = ordinal >>> 6;
+        if (index < words.length) {
+            words[index] &= ~(1L << ordinal);
+        }
+    }
+
+    boolean contains(int ordinal) {
+        int index = ordinal >>> 6;
+        return index < words.length && (words[index] & (1L << ordinal)) != 0;
+    }
+
+    void addAll(OrdinalSet other) {
+        long[] theirs = other.words;
+        if (theirs.length > words.length) {
+            words = Arrays.copyOf(words, theirs.length);
+        }
+        for (int i = 0; i < theirs.length; i++) {
+            words[i] |= theirs[i];
+        }
+    }
+
+    void removeAll(OrdinalSet other) {
+        long[] theirs = other.words;
+        for (int i = 0; i < Math.min(words.length, theirs.length); i++) {
+            words[i] &= ~theirs[i];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    boolean containsAll(OrdinalSet other) {
+        return firstMissing(other) < 0;
+    }
+
+    /** Returns the lowest ordinal in {@code other} that is not in this set, or -1 if there is none. */
+    int firstMissing(OrdinalSet other) {
+        long[] theirs = other.words;
+        for (int i = 0; i < theirs.length; i++) {
+            long mine = i < words.length ? words[i] : 0L;
+            long missing = theirs[i] & ~mine;
+            if (missing != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(missing);
+            }
+        }
+        return -1;
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /** Returns the lowest ordinal at or above {@code from} in this set, or -1 if there is none. */
+    int nextOrdinal(int from) {
+        int index = from >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+}
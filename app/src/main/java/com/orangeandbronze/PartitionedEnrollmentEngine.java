@@ -0,0 +1,321 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.orangeandbronze.exceptions.*;
+
+/**
+ * Enrollment engine that splits sections across a fixed set of worker threads by section
+ * ordinal. A worker takes ownership of each section the first time it handles it and keeps it
+ * until the engine closes. While owned, a section's seats and roster change only on that
+ * worker, so its compare-and-set loops never retry. Any other thread that tries to change the
+ * section gets an IllegalStateException, so direct calls cannot bypass the engine. Requests
+ * reach a worker through a lock-free queue.
+ *
+ * Single-section requests run entirely on the owning worker. A cart spanning several
+ * partitions runs in three steps:
+ * <ol>
+ * <li>Each owner reserves a seat in its section.</li>
+ * <li>The whole cart is validated and added to the student's load in one step.</li>
+ * <li>Each owner puts the student on its section's roster.</li>
+ * </ol>
+ * If anything is rejected or fails, the reserved seats go back to their owners.
+ *
+ * The student's own monitor is the one lock left. A student's load can be reached from every
+ * partition, so it cannot belong to any one worker. The monitor is uncontended unless the same
+ * student has requests in flight on several partitions at once.
+ */
+final class PartitionedEnrollmentEngine implements AutoCloseable {
+    private final Partition[] partitions;
+
+    PartitionedEnrollmentEngine(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition("enrollment-partition-" + i);
+        }
+    }
+
+    CompletableFuture<EnlistmentResult> enlist(Student student, Section section) {
+        CompletableFuture<EnlistmentResult> result = new CompletableFuture<>();
+        ownerOf(section).submit(result, section, () -> result.complete(student.tryEnlist(section)));
+        return result;
+    }
+
+    CompletableFuture<EnlistmentResult> enlistOrWaitlist(Student student, Section section) {
+        CompletableFuture<EnlistmentResult> result = new CompletableFuture<>();
+        ownerOf(section).submit(result, section, () -> result.complete(student.enlistOrWaitlist(section)));
+        return result;
+    }
+
+    /** Completes exceptionally with an {@link EnlistmentException} if the student is not in the section. */
+    CompletableFuture<Void> cancel(Student student, Section section) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        ownerOf(section).submit(result, section, () -> {
+            try {
+                student.cancel(section);
+                result.complete(null);
+            } catch (EnlistmentException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Enlists in every section of the cart or in none, with results in cart order. A cart whose
+     * sections all live in one partition runs on that worker like {@link Student#enlistAll}.
+     * Otherwise a section that is full is reported as CAPACITY_REACHED before the cart is
+     * validated against the student's load, so it may hide another rejection for that section.
+     */
+    CompletableFuture<List<EnlistmentResult>> enlistAll(Student student, Collection<Section> cart) {
+        List<Section> sections = List.copyOf(cart);
+        CompletableFuture<List<EnlistmentResult>> result = new CompletableFuture<>();
+        if (sections.isEmpty()) {
+            result.complete(List.of());
+            return result;
+        }
+        Partition single = singleOwnerOf(sections);
+        if (single != null) {
+            single.submit(result, sections, () -> result.complete(student.enlistAll(sections)));
+            return result;
+        }
+
+        AtomicReferenceArray<Boolean> reserved = new AtomicReferenceArray<>(sections.size());
+        CompletableFuture<?>[] reservations = new CompletableFuture<?>[sections.size()];
+        for (int i = 0; i < sections.size(); i++) {
+            int index = i;
+            Section section = sections.get(i);
+            CompletableFuture<Void> reservation = new CompletableFuture<>();
+            ownerOf(section).submit(reservation, section, () -> {
+                reserved.set(index, section.tryClaimSeat());
+                reservation.complete(null);
+            });
+            reservations[i] = reservation;
+        }
+
+        CompletableFuture.allOf(reservations).whenComplete((ignored, failure) -> {
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                admitReserved(student, sections, reserved, result);
+            } catch (Throwable e) {
+                releaseReserved(sections, reserved);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // Runs on whichever thread finished the last reservation; it touches sections only through their owners
+    private void admitReserved(Student student, List<Section> sections, AtomicReferenceArray<Boolean> reserved,
+            CompletableFuture<List<EnlistmentResult>> result) {
+        List<EnlistmentResult> results = new ArrayList<>(sections.size());
+        boolean full = false;
+        for (int i = 0; i < sections.size(); i++) {
+            if (!reserved.get(i)) {
+                results.add(EnlistmentResult.rejected(sections.get(i), EnlistmentResult.Rejection.CAPACITY_REACHED,
+                        sections.get(i)));
+                full = true;
+            } else {
+                results.add(null);
+            }
+        }
+        if (full) {
+            releaseReserved(sections, reserved);
+            for (int i = 0; i < sections.size(); i++) {
+                if (results.get(i) == null) {
+                    results.set(i, EnlistmentResult.aborted(sections.get(i)));
+                }
+            }
+            result.complete(results);
+            return;
+        }
+
+        List<EnlistmentResult> admitted = student.enlistAllClaimed(sections);
+        if (!admitted.get(0).isEnlisted()) {
+            releaseReserved(sections, reserved);
+            result.complete(admitted);
+            return;
+        }
+        CompletableFuture<?>[] rosters = new CompletableFuture<?>[sections.size()];
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            CompletableFuture<Void> roster = new CompletableFuture<>();
+            // The load already holds the cart, so this must run even if the engine closes meanwhile
+            ownerOf(section).submit(null, section, () -> {
+                try {
+                    // A cancel that got in first leaves the reserved seat with nobody to hold it
+                    if (student.isEnlistedIn(section)) {
+                        section.admitStudent(student);
+                    } else {
+                        section.releaseSeat();
+                    }
+                    roster.complete(null);
+                } catch (RuntimeException | Error e) {
+                    roster.completeExceptionally(e);
+                }
+            });
+            rosters[i] = roster;
+        }
+        CompletableFuture.allOf(rosters).whenComplete((done, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(admitted);
+            }
+        });
+    }
+
+    private void releaseReserved(List<Section> sections, AtomicReferenceArray<Boolean> reserved) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (Boolean.TRUE.equals(reserved.get(i))) {
+                Section section = sections.get(i);
+                ownerOf(section).submit(null, section, section::releaseSeat);
+            }
+        }
+    }
+
+    private Partition ownerOf(Section section) {
+        return partitions[section.getOrdinal() % partitions.length];
+    }
+
+    private Partition singleOwnerOf(List<Section> sections) {
+        Partition owner = ownerOf(sections.get(0));
+        for (Section section : sections) {
+            if (ownerOf(section) != owner) {
+                return null;
+            }
+        }
+        return owner;
+    }
+
+    int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /** Stops accepting work, lets every worker finish what is already queued, and waits for them. */
+    @Override
+    public void close() {
+        for (Partition partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (Partition partition : partitions) {
+                partition.worker.join();
+                // Anything that slipped in while the worker was exiting still runs, on the now unowned sections
+                partition.drain();
+            }
+        } catch (InterruptedException e) {
+            // The workers still finish their queues; we just stop waiting for them
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Partition implements Runnable {
+        private final ConcurrentLinkedQueue<Runnable> queue;
+        private final Thread worker;
+        // Sections this worker owns; touched only by the worker
+        private final List<Section> owned;
+        private volatile boolean running;
+        private volatile boolean parked;
+
+        Partition(String name) {
+            this.queue = new ConcurrentLinkedQueue<>();
+            this.owned = new ArrayList<>();
+            this.running = true;
+            this.worker = new Thread(this, name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        void submit(CompletableFuture<?> caller, Section section, Runnable task) {
+            submit(caller, List.of(section), task);
+        }
+
+        // A failing task fails its caller's future rather than the worker. Tasks without a caller
+        // give back resources, so they still run after shutdown.
+        void submit(CompletableFuture<?> caller, List<Section> sections, Runnable task) {
+            if (!running && caller != null) {
+                caller.completeExceptionally(new IllegalStateException("Enrollment engine is closed"));
+                return;
+            }
+            queue.offer(() -> {
+                try {
+                    if (Thread.currentThread() == worker) {
+                        sections.forEach(this::own);
+                    }
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    if (caller == null) {
+                        throw e;
+                    }
+                    caller.completeExceptionally(e);
+                }
+            });
+            if (parked) {
+                LockSupport.unpark(worker);
+            }
+            // A worker that has already exited will not run the task, and close() may be done draining
+            if (!running && !worker.isAlive()) {
+                drain();
+            }
+        }
+
+        private void own(Section section) {
+            if (section.getOwner() != worker) {
+                section.bindOwner(worker);
+                owned.add(section);
+            }
+        }
+
+        void drain() {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                task.run();
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            LockSupport.unpark(worker);
+        }
+
+        @Override
+        public void run() {
+            try {
+                work();
+            } finally {
+                for (Section section : owned) {
+                    section.unbindOwner(worker);
+                }
+            }
+        }
+
+        private void work() {
+            while (true) {
+                Runnable task = queue.poll();
+                if (task != null) {
+                    task.run();
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                parked = true;
+                // Re-check after advertising that we are parked so a concurrent submit is not missed
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+}
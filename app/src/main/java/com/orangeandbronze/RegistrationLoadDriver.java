@@ -0,0 +1,178 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.orangeandbronze.exceptions.EnlistmentException;
+
+/**
+ * Registration-day load driver. Builds a synthetic catalog, then runs a mix of enlist, cancel
+ * and assess calls from many concurrent clients on virtual threads. Section popularity follows
+ * a Zipf distribution so a few hot sections take most of the enlist traffic. Prints throughput,
+ * latency percentiles per operation and rejection rates.
+ *
+ * Arguments are key=value pairs, for example:
+ * students=50000 sections=3000 operations=2000000 clients=10000 enlist=70 cancel=20 assess=10 skew=1.1
+ */
+public class RegistrationLoadDriver {
+    enum Operation {
+        ENLIST, CANCEL, ASSESS
+    }
+
+    private final List<Student> students;
+    private final List<Section> sections;
+    private final ZipfSampler sectionPopularity;
+    private final int[] mix;
+    private final Map<Operation, LatencyHistogram> latencies;
+    private final Map<EnlistmentResult.Rejection, LongAdder> rejections;
+    private final LongAdder emptyCancels;
+
+    RegistrationLoadDriver(SyntheticUniversity university, double skew, int enlistWeight, int cancelWeight,
+            int assessWeight) {
+        if (enlistWeight < 0 || cancelWeight < 0 || assessWeight < 0 || enlistWeight + cancelWeight + assessWeight == 0) {
+            throw new IllegalArgumentException("Operation weights must be non-negative and not all zero");
+        }
+        this.students = university.getStudents();
+        this.sections = university.getSections();
+        this.sectionPopularity = new ZipfSampler(sections.size(), skew);
+        this.mix = new int[] { enlistWeight, enlistWeight + cancelWeight, enlistWeight + cancelWeight + assessWeight };
+        this.latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        this.rejections = new EnumMap<>(EnlistmentResult.Rejection.class);
+        for (EnlistmentResult.Rejection rejection : EnlistmentResult.Rejection.values()) {
+            rejections.put(rejection, new LongAdder());
+        }
+        this.emptyCancels = new LongAdder();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        int studentCount = intOption(options, "students", 20_000);
+        int sectionCount = intOption(options, "sections", 2_000);
+        int operations = intOption(options, "operations", 1_000_000);
+        int clients = intOption(options, "clients", 5_000);
+        double skew = Double.parseDouble(options.getOrDefault("skew", "1.1"));
+
+        // Enough rooms and instructors that every section gets a slot
+        int staff = (sectionCount + Schedule.SLOT_COUNT - 1) / Schedule.SLOT_COUNT;
+        long start = System.nanoTime();
+        SyntheticUniversity university = new SyntheticUniversity(studentCount, Math.max(4, sectionCount / 3),
+                4, staff, staff, sectionCount, intOption(options, "seed", 42));
+        System.out.printf("Built catalog of %d sections and %d students in %d ms%n",
+                sectionCount, studentCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        RegistrationLoadDriver driver = new RegistrationLoadDriver(university, skew,
+                intOption(options, "enlist", 70), intOption(options, "cancel", 20), intOption(options, "assess", 10));
+        long elapsed = driver.run(operations, clients);
+        driver.report(System.out, elapsed);
+    }
+
+    /** Runs the given number of operations spread over concurrent clients; returns the wall time in nanoseconds. */
+    long run(int operations, int clients) throws InterruptedException {
+        CountDownLatch startSignal = new CountDownLatch(1);
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int share = operations / clients + (client < operations % clients ? 1 : 0);
+                executor.submit(() -> {
+                    startSignal.await();
+                    for (int i = 0; i < share; i++) {
+                        runOne();
+                    }
+                    return null;
+                });
+            }
+            start = System.nanoTime();
+            startSignal.countDown();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void runOne() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Student student = students.get(random.nextInt(students.size()));
+        int draw = random.nextInt(mix[2]);
+        if (draw < mix[0]) {
+            Section section = sections.get(sectionPopularity.next());
+            long begin = System.nanoTime();
+            EnlistmentResult result = student.tryEnlist(section);
+            latencies.get(Operation.ENLIST).record(System.nanoTime() - begin);
+            if (result.getRejection() != null) {
+                rejections.get(result.getRejection()).increment();
+            }
+        } else if (draw < mix[1]) {
+            List<Section> load = new ArrayList<>(student.getEnrolledSections());
+            if (load.isEmpty()) {
+                emptyCancels.increment();
+                return;
+            }
+            Section section = load.get(random.nextInt(load.size()));
+            long begin = System.nanoTime();
+            try {
+                student.cancel(section);
+            } catch (EnlistmentException e) {
+                // Another client cancelled it first; still a measured call
+            }
+            latencies.get(Operation.CANCEL).record(System.nanoTime() - begin);
+        } else {
+            long begin = System.nanoTime();
+            student.requestAssessment();
+            latencies.get(Operation.ASSESS).record(System.nanoTime() - begin);
+        }
+    }
+
+    void report(java.io.PrintStream out, long elapsedNanos) {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%nCompleted %d operations in %.2f s: %.0f ops/s%n%n", total, seconds, total / seconds);
+        out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "op", "count", "mean us", "p50 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.printf("%-8s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getMeanNanos() / 1e3, histogram.getPercentileNanos(0.50) / 1e3,
+                    histogram.getPercentileNanos(0.99) / 1e3, histogram.getPercentileNanos(0.999) / 1e3,
+                    histogram.getMaxNanos() / 1e3);
+        }
+
+        long enlists = latencies.get(Operation.ENLIST).getCount();
+        out.printf("%nEnlist rejections:%n");
+        for (Map.Entry<EnlistmentResult.Rejection, LongAdder> entry : rejections.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                out.printf("  %-22s %10d %6.2f%%%n", entry.getKey(), count, 100.0 * count / enlists);
+            }
+        }
+        out.printf("Cancels skipped on an empty load: %d%n", emptyCancels.sum());
+    }
+
+    LatencyHistogram getLatencies(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    long getRejections(EnlistmentResult.Rejection rejection) {
+        return rejections.get(rejection).sum();
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    static int intOption(Map<String, String> options, String key, int defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -1,11 +1,16 @@
 package com.orangeandbronze;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 class Room {
+    private static final Interner ORDINALS = new Interner();
+
     private final String roomName;
+    private final int ordinal;
     private final int capacity;
     private final Set<Section> assignedSections;
+    private final SlotTable slots;
 
     Room(String roomName, int capacity) {
         if (!ValidationUtils.isAlphanumeric(roomName)) {
@@ -15,16 +20,53 @@ class Room {
             throw new IllegalArgumentException("Capacity must be positive");
         }
         this.roomName = roomName;
+        this.ordinal = ORDINALS.ordinalOf(roomName);
         this.capacity = capacity;
-        this.assignedSections = new HashSet<>();
+        this.assignedSections = ConcurrentHashMap.newKeySet();
+        this.slots = new SlotTable();
     }
 
+    // Sections claim their slot when they are created; this is a no-op for a section that already holds it
     void assignSection(Section section) {
+        if (!claimSlot(section)) {
+            throw new IllegalArgumentException("Room " + roomName + " already has a section at " + section.getSchedule());
+        }
+    }
+
+    boolean claimSlot(Section section) {
+        if (!slots.claim(section)) {
+            return false;
+        }
+        assignedSections.add(section);
+        return true;
+    }
+
+    void installSection(Section section) {
+        slots.install(section);
         assignedSections.add(section);
     }
 
     void removeSection(Section section) {
-        assignedSections.remove(section);
+        if (assignedSections.remove(section)) {
+            slots.release(section);
+        }
+    }
+
+    boolean isFree(Schedule schedule) {
+        return slots.isFree(schedule);
+    }
+
+    Section getSectionAt(Schedule schedule) {
+        return slots.getOccupant(schedule);
+    }
+
+    List<Schedule> getFreeSchedules() {
+        return slots.getFreeSchedules();
+    }
+
+    /** The ordinal already given to the room name, or -1 if no such room was ever created. */
+    static int findOrdinal(String roomName) {
+        return ORDINALS.find(roomName);
     }
 
     // Getters
@@ -32,6 +74,10 @@ class Room {
         return roomName;
     }
 
+    int getOrdinal() {
+        return ordinal;
+    }
+
     int getCapacity() {
         return capacity;
     }
@@ -1,26 +1,51 @@
 package com.orangeandbronze;
 
-import java.util.Objects;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.*;
 
+/**
+ * When a section meets each week. Most sections use one of the standard slots, a {@link Days}
+ * pair at one of the six 90-minute {@link Period}s; those schedules are canonical, compare by
+ * identity and own one bit of an int bitmap, so conflicts between them are a single AND.
+ *
+ * Anything else (a 3-hour lab, a single-day or evening class) is a free-form pattern of
+ * {@link Meeting}s. Its slot mask holds every standard slot it overlaps, so clashes with
+ * slotted schedules are still exact bit tests; clashes between two free-form patterns are
+ * found through an {@link IntervalIndex}.
+ */
 class Schedule {
     enum Days {
-        MTH, // Mon/Thu
-        TF, // Tue/Fri
-        WS // Wed/Sat
+        MTH(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), // Mon/Thu
+        TF(DayOfWeek.TUESDAY, DayOfWeek.FRIDAY), // Tue/Fri
+        WS(DayOfWeek.WEDNESDAY, DayOfWeek.SATURDAY); // Wed/Sat
+
+        private final DayOfWeek first;
+        private final DayOfWeek second;
+
+        Days(DayOfWeek first, DayOfWeek second) {
+            this.first = first;
+            this.second = second;
+        }
     }
 
     enum Period {
-        H0830_1000("8:30am-10am"),
-        H1000_1130("10am-11:30am"),
-        H1130_1300("11:30am-1pm"),
-        H1300_1430("1pm-2:30pm"),
-        H1430_1600("2:30pm-4pm"),
-        H1600_1730("4pm-5:30pm");
+        H0830_1000("8:30am-10am", 510, 600),
+        H1000_1130("10am-11:30am", 600, 690),
+        H1130_1300("11:30am-1pm", 690, 780),
+        H1300_1430("1pm-2:30pm", 780, 870),
+        H1430_1600("2:30pm-4pm", 870, 960),
+        H1600_1730("4pm-5:30pm", 960, 1050);
 
         private final String timeRange;
+        private final int startMinute;
+        private final int endMinute;
 
-        Period(String timeRange) {
+        Period(String timeRange, int startMinute, int endMinute) {
             this.timeRange = timeRange;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
         }
 
         String getTimeRange() {
@@ -28,19 +53,210 @@ class Schedule {
         }
     }
 
+    /** One weekly meeting: a day, and start and end times as minutes after midnight. */
+    static final class Meeting {
+        private final DayOfWeek day;
+        private final int startMinute;
+        private final int endMinute;
+
+        Meeting(DayOfWeek day, LocalTime start, LocalTime end) {
+            this(day, start.getHour() * 60 + start.getMinute(), end.getHour() * 60 + end.getMinute());
+        }
+
+        Meeting(DayOfWeek day, int startMinute, int endMinute) {
+            this.day = Objects.requireNonNull(day);
+            if (startMinute < 0 || endMinute > MINUTES_PER_DAY || startMinute >= endMinute) {
+                throw new IllegalArgumentException("Meeting must start before it ends, within one day");
+            }
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+
+        DayOfWeek getDay() {
+            return day;
+        }
+
+        int getStartMinute() {
+            return startMinute;
+        }
+
+        int getEndMinute() {
+            return endMinute;
+        }
+
+        // Minutes since Monday midnight, so a week of meetings sorts as plain ints
+        private int weekStart() {
+            return day.ordinal() * MINUTES_PER_DAY + startMinute;
+        }
+
+        private int weekEnd() {
+            return day.ordinal() * MINUTES_PER_DAY + endMinute;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            Meeting meeting = (Meeting) obj;
+            return day == meeting.day && startMinute == meeting.startMinute && endMinute == meeting.endMinute;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, startMinute, endMinute);
+        }
+
+        @Override
+        public String toString() {
+            return day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + formatTime(startMinute) + "-"
+                    + formatTime(endMinute);
+        }
+    }
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    // Every standard schedule maps to one of Days x Period slots, so a slotted load fits in an int bitmap
+    static final int SLOT_COUNT = Days.values().length * Period.values().length;
+    private static final int PERIOD_COUNT = Period.values().length;
+    // The only slotted instances: one per slot, so slotted schedules compare by identity
+    private static final Schedule[] BY_SLOT = new Schedule[SLOT_COUNT];
+
+    static {
+        for (Days days : Days.values()) {
+            for (Period period : Period.values()) {
+                Schedule schedule = new Schedule(days, period);
+                BY_SLOT[schedule.slot] = schedule;
+            }
+        }
+    }
+
     private final Days days;
     private final Period period;
+    // -1 for free-form patterns
+    private final int slot;
+    // The schedule's own slot, or for a free-form pattern every slot it overlaps
+    private final int slotMask;
+    private final int dayMask;
+    private final Meeting[] meetings;
+    // Week-minute bounds of the meetings, in start order
+    private final int[] starts;
+    private final int[] ends;
+
+    private Schedule(Days days, Period period) {
+        this.days = days;
+        this.period = period;
+        this.slot = days.ordinal() * PERIOD_COUNT + period.ordinal();
+        this.slotMask = 1 << slot;
+        this.meetings = new Meeting[] {
+                new Meeting(days.first, period.startMinute, period.endMinute),
+                new Meeting(days.second, period.startMinute, period.endMinute) };
+        this.starts = new int[] { meetings[0].weekStart(), meetings[1].weekStart() };
+        this.ends = new int[] { meetings[0].weekEnd(), meetings[1].weekEnd() };
+        this.dayMask = dayMaskOf(meetings);
+    }
+
+    private Schedule(Meeting[] meetings) {
+        this.days = null;
+        this.period = null;
+        this.slot = -1;
+        this.meetings = meetings;
+        this.starts = new int[meetings.length];
+        this.ends = new int[meetings.length];
+        for (int i = 0; i < meetings.length; i++) {
+            starts[i] = meetings[i].weekStart();
+            ends[i] = meetings[i].weekEnd();
+        }
+        int mask = 0;
+        for (Schedule slotted : BY_SLOT) {
+            if (overlaps(slotted)) {
+                mask |= slotted.slotMask;
+            }
+        }
+        this.slotMask = mask;
+        this.dayMask = dayMaskOf(meetings);
+    }
 
-    Schedule(Days days, Period period) {
-        this.days = Objects.requireNonNull(days);
-        this.period = Objects.requireNonNull(period);
+    static Schedule of(Days days, Period period) {
+        return BY_SLOT[Objects.requireNonNull(days).ordinal() * PERIOD_COUNT + Objects.requireNonNull(period).ordinal()];
+    }
+
+    /**
+     * A schedule meeting at the given times each week, which must not overlap one another.
+     * Meetings that match a standard slot exactly give that slot's canonical schedule.
+     */
+    static Schedule of(Meeting... meetings) {
+        if (meetings.length == 0) {
+            throw new IllegalArgumentException("A schedule needs at least one meeting");
+        }
+        Meeting[] sorted = meetings.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(Meeting::weekStart));
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i].weekStart() < sorted[i - 1].weekEnd()) {
+                throw new IllegalArgumentException("Meetings must not overlap: " + sorted[i - 1] + " and " + sorted[i]);
+            }
+        }
+        for (Schedule slotted : BY_SLOT) {
+            if (Arrays.equals(slotted.meetings, sorted)) {
+                return slotted;
+            }
+        }
+        return new Schedule(sorted);
+    }
+
+    static Schedule forSlot(int slot) {
+        if (slot < 0 || slot >= SLOT_COUNT) {
+            throw new IllegalArgumentException("Slot must be between 0 and " + (SLOT_COUNT - 1));
+        }
+        return BY_SLOT[slot];
     }
 
     boolean conflictsWith(Schedule other) {
-        return this.days == other.days && this.period == other.period;
+        if (slot >= 0 || other.slot >= 0) {
+            // A free-form mask holds exactly the slots it overlaps, so any slotted comparison is a bit test
+            return (slotMask & other.slotMask) != 0;
+        }
+        return overlaps(other);
+    }
+
+    // Merge walk over both meeting lists; neither overlaps itself, so the one ending first can be dropped
+    private boolean overlaps(Schedule other) {
+        int i = 0;
+        int j = 0;
+        while (i < starts.length && j < other.starts.length) {
+            if (starts[i] < other.ends[j] && other.starts[j] < ends[i]) {
+                return true;
+            }
+            if (ends[i] <= other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    private static int dayMaskOf(Meeting[] meetings) {
+        int mask = 0;
+        for (Meeting meeting : meetings) {
+            mask |= 1 << meeting.day.ordinal();
+        }
+        return mask;
+    }
+
+    private static String formatTime(int minute) {
+        int hour = minute / 60 % 24;
+        int hour12 = hour % 12 == 0 ? 12 : hour % 12;
+        String minutes = minute % 60 == 0 ? "" : String.format(":%02d", minute % 60);
+        return hour12 + minutes + (hour < 12 ? "am" : "pm");
+    }
+
+    boolean isSlotted() {
+        return slot >= 0;
     }
 
     // Getters
+    // Null for free-form patterns
     Days getDays() {
         return days;
     }
@@ -49,6 +265,37 @@ class Schedule {
         return period;
     }
 
+    int getSlot() {
+        return slot;
+    }
+
+    int getSlotMask() {
+        return slotMask;
+    }
+
+    /** Bit per {@link DayOfWeek} ordinal on which the schedule meets. */
+    int getDayMask() {
+        return dayMask;
+    }
+
+    List<Meeting> getMeetings() {
+        return List.of(meetings);
+    }
+
+    int getMeetingCount() {
+        return starts.length;
+    }
+
+    /** Start of the i-th meeting in start order, in minutes since Monday midnight. */
+    int getMeetingStart(int i) {
+        return starts[i];
+    }
+
+    int getMeetingEnd(int i) {
+        return ends[i];
+    }
+
+    // Slotted instances are canonical, so only free-form patterns need comparing by value
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -56,16 +303,23 @@ class Schedule {
         if (obj == null || getClass() != obj.getClass())
             return false;
         Schedule schedule = (Schedule) obj;
-        return days == schedule.days && period == schedule.period;
+        return slot < 0 && schedule.slot < 0 && Arrays.equals(meetings, schedule.meetings);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(days, period);
+        return slot >= 0 ? slot : Arrays.hashCode(meetings);
     }
 
     @Override
     public String toString() {
-        return days + " " + period.getTimeRange();
+        if (slot >= 0) {
+            return days + " " + period.getTimeRange();
+        }
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Meeting meeting : meetings) {
+            joiner.add(meeting.toString());
+        }
+        return joiner.toString();
     }
-}
\ No newline at end of file
+}
@@ -1,47 +1,85 @@
 package com.orangeandbronze;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import com.orangeandbronze.exceptions.*;
 
 class Section {
+    private static final Interner ORDINALS = new Interner();
+    private static final Logger LOG = Logger.getLogger(Section.class.getName());
+    private static final Student[] NO_STUDENTS = new Student[0];
+
     private final String sectionId;
+    private final int ordinal;
     private final Subject subject;
     private final Schedule schedule;
     private final Room room;
     private final Instructor instructor;
-    private final Set<Student> enrolledStudents;
+    // Copy-on-write roster: at most a room's worth of references, replaced with one CAS per change
+    private final AtomicReference<Student[]> roster;
+    private final AtomicInteger seatsTaken;
+    // FIFO of students waiting for a seat, bounded to one room's worth
+    private final ConcurrentLinkedDeque<Student> waitlist;
+    // Membership guard for the deque, so checking for and adding a student is one atomic step
+    private final Set<Student> waiting;
+    private final AtomicInteger waitlistSize;
+    // The enrollment engine worker that owns the section, if any; only the owner may then change
+    // seats and roster. Writes stay CAS even then, so one already under way when the owner binds
+    // cannot be lost.
+    private volatile Thread owner;
 
     Section(String sectionId, Subject subject, Schedule schedule, Room room, Instructor instructor)
             throws ScheduleConflictException {
+        this(sectionId, subject, schedule, room, instructor, false);
+        claimRoomAndInstructorSlots();
+    }
+
+    private Section(String sectionId, Subject subject, Schedule schedule, Room room, Instructor instructor,
+            boolean restored) {
         if (!ValidationUtils.isAlphanumeric(sectionId)) {
             throw new IllegalArgumentException("Section ID must be alphanumeric");
         }
         this.sectionId = sectionId;
+        this.ordinal = ORDINALS.ordinalOf(sectionId);
         this.subject = Objects.requireNonNull(subject);
         this.schedule = Objects.requireNonNull(schedule);
         this.room = Objects.requireNonNull(room);
         this.instructor = Objects.requireNonNull(instructor);
-        this.enrolledStudents = new HashSet<>();
-
-        validateRoomScheduleConflict();
-        validateInstructorScheduleConflict();
+        this.roster = new AtomicReference<>(NO_STUDENTS);
+        this.seatsTaken = new AtomicInteger();
+        this.waitlist = new ConcurrentLinkedDeque<>();
+        this.waiting = ConcurrentHashMap.newKeySet();
+        this.waitlistSize = new AtomicInteger();
+        if (restored) {
+            room.installSection(this);
+            instructor.installSection(this);
+        }
     }
 
-    private void validateRoomScheduleConflict() throws ScheduleConflictException {
-        for (Section section : room.getAssignedSections()) {
-            if (section != this && section.hasScheduleConflict(this)) {
-                throw new ScheduleConflictException("Room " + room.getRoomName() +
-                        " has schedule conflict between sections");
-            }
-        }
+    /**
+     * Snapshot support: recreates a section whose room and instructor slots were claimed without
+     * conflict when it was first made, installing them directly instead of checking again.
+     */
+    static Section restore(String sectionId, Subject subject, Schedule schedule, Room room, Instructor instructor) {
+        return new Section(sectionId, subject, schedule, room, instructor, true);
     }
 
-    private void validateInstructorScheduleConflict() throws ScheduleConflictException {
-        for (Section section : instructor.getAssignedSections()) {
-            if (section != this && section.hasScheduleConflict(this)) {
-                throw new ScheduleConflictException("Instructor " + instructor.getName() +
-                        " has schedule conflict between sections");
-            }
+    // Claiming is the conflict check, so nothing can slip in between checking and assigning
+    private void claimRoomAndInstructorSlots() throws ScheduleConflictException {
+        if (!room.claimSlot(this)) {
+            throw new ScheduleConflictException("Room " + room.getRoomName() +
+                    " has schedule conflict between sections");
+        }
+        if (!instructor.claimSlot(this)) {
+            room.removeSection(this);
+            throw new ScheduleConflictException("Instructor " + instructor.getName() +
+                    " has schedule conflict between sections");
         }
     }
 
@@ -50,18 +88,204 @@ class Section {
     }
 
     boolean isAtCapacity() {
-        return enrolledStudents.size() >= room.getCapacity();
+        return seatsTaken.get() >= room.getCapacity();
+    }
+
+    // Seats are claimed with a CAS loop so concurrent enlistments can never overbook the room
+    boolean tryClaimSeat() {
+        checkWritable();
+        int capacity = room.getCapacity();
+        int taken;
+        do {
+            taken = seatsTaken.get();
+            if (taken >= capacity) {
+                return false;
+            }
+        } while (!seatsTaken.compareAndSet(taken, taken + 1));
+        return true;
+    }
+
+    void releaseSeat() {
+        checkWritable();
+        seatsTaken.decrementAndGet();
     }
 
     void addStudent(Student student) throws EnlistmentException {
-        if (isAtCapacity()) {
-            throw new CapacityReachedException("Section is at full capacity");
+        if (!tryClaimSeat()) {
+            throw new CapacityReachedException("Section " + sectionId + " is at full capacity");
+        }
+        admitStudent(student);
+    }
+
+    // Puts the student on the roster; the caller must already have claimed a seat for them
+    void admitStudent(Student student) {
+        if (!addToRoster(student)) {
+            releaseSeat();
+        }
+    }
+
+    // Replay support: the seat was claimed when the enlistment first happened
+    void restoreStudent(Student student) {
+        if (addToRoster(student)) {
+            seatsTaken.incrementAndGet();
         }
-        enrolledStudents.add(student);
     }
 
     void removeStudent(Student student) {
-        enrolledStudents.remove(student);
+        if (removeFromRoster(student)) {
+            releaseSeat();
+        }
+    }
+
+    private boolean addToRoster(Student student) {
+        checkWritable();
+        Student[] current;
+        Student[] updated;
+        do {
+            current = roster.get();
+            if (indexOf(current, student) >= 0) {
+                return false;
+            }
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = student;
+        } while (!roster.compareAndSet(current, updated));
+        return true;
+    }
+
+    private boolean removeFromRoster(Student student) {
+        checkWritable();
+        Student[] current;
+        Student[] updated;
+        do {
+            current = roster.get();
+            int index = indexOf(current, student);
+            if (index < 0) {
+                return false;
+            }
+            updated = new Student[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!roster.compareAndSet(current, updated));
+        return true;
+    }
+
+    /** Throws IllegalStateException if an enrollment engine owns the section and the caller is not its worker. */
+    void checkWritable() {
+        Thread current = owner;
+        if (current != null && current != Thread.currentThread()) {
+            throw new IllegalStateException("Section " + sectionId + " is owned by " + current.getName()
+                    + " and can only be changed through its enrollment engine");
+        }
+    }
+
+    // Engine support: the worker binds the section on first use and unbinds it when it exits
+    synchronized void bindOwner(Thread worker) {
+        if (owner != null && owner != worker) {
+            throw new IllegalStateException("Section " + sectionId + " is already owned by " + owner.getName());
+        }
+        owner = worker;
+    }
+
+    synchronized void unbindOwner(Thread worker) {
+        if (owner == worker) {
+            owner = null;
+        }
+    }
+
+    Thread getOwner() {
+        return owner;
+    }
+
+    private static int indexOf(Student[] students, Student student) {
+        for (int i = 0; i < students.length; i++) {
+            if (students[i].equals(student)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Queues the student for the next free seat; false if the waitlist is full or they are already on it. */
+    boolean joinWaitlist(Student student) {
+        if (!waiting.add(student)) {
+            return false;
+        }
+        int size;
+        do {
+            size = waitlistSize.get();
+            if (size >= room.getCapacity()) {
+                waiting.remove(student);
+                return false;
+            }
+        } while (!waitlistSize.compareAndSet(size, size + 1));
+        waitlist.offerLast(student);
+        return true;
+    }
+
+    /** Takes the student off the waitlist; false if they were not waiting or are being promoted right now. */
+    boolean leaveWaitlist(Student student) {
+        if (waitlist.removeFirstOccurrence(student)) {
+            waitlistSize.decrementAndGet();
+            waiting.remove(student);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fills free seats from the head of the waitlist. Each promoted student is fully revalidated;
+     * students who no longer fit their own timetable or prerequisites leave the waitlist. A
+     * promotion the listener vetoes is logged, not thrown, since the caller's own change has
+     * already happened; that student keeps their place and the rest of the line is still tried.
+     * Must not be called while holding a student's monitor, since promoting locks the waiting
+     * student.
+     */
+    void promoteWaitlisted() {
+        Deque<Student> vetoed = null;
+        try {
+            while (!isAtCapacity()) {
+                Student next = waitlist.pollFirst();
+                if (next == null) {
+                    return;
+                }
+                waitlistSize.decrementAndGet();
+                EnlistmentResult result;
+                try {
+                    result = next.tryEnlist(this);
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Could not promote student " + next.getStudentNumber()
+                            + " from the waitlist of section " + sectionId, e);
+                    if (vetoed == null) {
+                        vetoed = new ArrayDeque<>();
+                    }
+                    vetoed.addFirst(next);
+                    continue;
+                } catch (Error e) {
+                    waitlist.offerFirst(next);
+                    waitlistSize.incrementAndGet();
+                    throw e;
+                }
+                if (result.getRejection() == EnlistmentResult.Rejection.CAPACITY_REACHED) {
+                    // The seat went to a direct enlistment; keep this student's place at the head
+                    waitlist.offerFirst(next);
+                    waitlistSize.incrementAndGet();
+                    return;
+                }
+                // Only now may the student queue again, so a promotion in flight cannot be doubled up
+                waiting.remove(next);
+            }
+        } finally {
+            // Nothing changed for vetoed students, so they go back to the head in their old order
+            while (vetoed != null && !vetoed.isEmpty()) {
+                waitlist.offerFirst(vetoed.pollFirst());
+                waitlistSize.incrementAndGet();
+            }
+        }
+    }
+
+    /** The ordinal already given to the section ID, or -1 if no such section was ever created. */
+    static int findOrdinal(String sectionId) {
+        return ORDINALS.find(sectionId);
     }
 
     // Getters
@@ -69,6 +293,10 @@ class Section {
         return sectionId;
     }
 
+    int getOrdinal() {
+        return ordinal;
+    }
+
     Subject getSubject() {
         return subject;
     }
@@ -86,11 +314,30 @@ class Section {
     }
 
     Set<Student> getEnrolledStudents() {
-        return new HashSet<>(enrolledStudents);
+        return new HashSet<>(Arrays.asList(roster.get()));
+    }
+
+    /** Visits the roster as it stood when the call began, without copying it. */
+    void forEachStudent(Consumer<? super Student> action) {
+        for (Student student : roster.get()) {
+            action.accept(student);
+        }
     }
 
     int getEnrollmentCount() {
-        return enrolledStudents.size();
+        return seatsTaken.get();
+    }
+
+    int getAvailableSeats() {
+        return Math.max(0, room.getCapacity() - seatsTaken.get());
+    }
+
+    List<Student> getWaitlist() {
+        return new ArrayList<>(waitlist);
+    }
+
+    int getWaitlistSize() {
+        return waitlistSize.get();
     }
 
     @Override
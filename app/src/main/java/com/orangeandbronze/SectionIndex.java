@@ -0,0 +1,187 @@
+package com.orangeandbronze;
+
+import java.util.*;
+
+/**
+ * Inverted index from subject and schedule slot to sections, answering "open sections of this
+ * subject that fit my timetable" without scanning the catalog. Seat counts are read live from
+ * each section, so results reflect enlistments made after the index was built.
+ *
+ * Adding a section publishes copied arrays, so lookups never lock; the index is built once per
+ * term and then read far more often than it changes. A free-form section is listed under every
+ * slot it overlaps, and under none if it meets outside the standard periods.
+ */
+final class SectionIndex {
+    private static final Section[] NONE = new Section[0];
+
+    // Indexed by subject ordinal; each bucket is ordered by slot, free-form sections first
+    private volatile Section[][] bySubject;
+    private volatile Section[][] bySlot;
+    // Root subjects of the indexed sections, recomputed once sections or prerequisites change
+    private volatile Roots roots;
+
+    SectionIndex() {
+        this.bySubject = new Section[16][];
+        Section[][] slots = new Section[Schedule.SLOT_COUNT][];
+        Arrays.fill(slots, NONE);
+        this.bySlot = slots;
+    }
+
+    static SectionIndex of(Collection<Section> sections) {
+        SectionIndex index = new SectionIndex();
+        sections.forEach(index::add);
+        return index;
+    }
+
+    static SectionIndex of(EnrollmentRegistry registry) {
+        SectionIndex index = new SectionIndex();
+        registry.forEachSection(index::add);
+        return index;
+    }
+
+    synchronized void add(Section section) {
+        int ordinal = section.getSubject().getOrdinal();
+        Section[][] subjects = bySubject;
+        subjects = Arrays.copyOf(subjects, Math.max(subjects.length, ordinal + 1));
+        Section[] bucket = subjects[ordinal] == null ? NONE : subjects[ordinal];
+        if (Arrays.asList(bucket).contains(section)) {
+            return;
+        }
+        Section[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+        grown[bucket.length] = section;
+        Arrays.sort(grown, Comparator.comparingInt((Section s) -> s.getSchedule().getSlot()));
+        subjects[ordinal] = grown;
+        bySubject = subjects;
+
+        Section[][] slots = bySlot.clone();
+        for (int bits = section.getSchedule().getSlotMask(); bits != 0; bits &= bits - 1) {
+            int slot = Integer.numberOfTrailingZeros(bits);
+            slots[slot] = Arrays.copyOf(slots[slot], slots[slot].length + 1);
+            slots[slot][slots[slot].length - 1] = section;
+        }
+        bySlot = slots;
+    }
+
+    /** Sections of the subject that still have seats and do not clash with the student's load. */
+    List<Section> findOpenSections(Subject subject, Student student) {
+        int occupiedSlots = student.getOccupiedSlots();
+        List<Section> open = new ArrayList<>();
+        for (Section section : sectionsOf(subject)) {
+            if (fits(section, occupiedSlots, student) && !section.isAtCapacity()) {
+                open.add(section);
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Sections of the subject that still have seats and fall outside the occupied slots. Only
+     * slots are compared, so a free-form section meeting outside the standard periods always fits.
+     */
+    List<Section> findOpenSections(Subject subject, int occupiedSlots) {
+        List<Section> open = new ArrayList<>();
+        for (Section section : sectionsOf(subject)) {
+            if ((occupiedSlots & section.getSchedule().getSlotMask()) == 0 && !section.isAtCapacity()) {
+                open.add(section);
+            }
+        }
+        return open;
+    }
+
+    /** Open sections, clear of the student's load, of every subject the student may take now. */
+    List<Section> findEligibleOpenSections(Student student) {
+        OrdinalSet eligible = student.getEligibleSubjectOrdinals(getRootSubjects());
+        int occupiedSlots = student.getOccupiedSlots();
+        Section[][] subjects = bySubject;
+        List<Section> open = new ArrayList<>();
+        for (int ordinal = eligible.nextOrdinal(0); ordinal >= 0 && ordinal < subjects.length;
+                ordinal = eligible.nextOrdinal(ordinal + 1)) {
+            if (subjects[ordinal] == null) {
+                continue;
+            }
+            for (Section section : subjects[ordinal]) {
+                if (fits(section, occupiedSlots, student) && !section.isAtCapacity()) {
+                    open.add(section);
+                }
+            }
+        }
+        return open;
+    }
+
+    private OrdinalSet getRootSubjects() {
+        int version = Curriculum.getVersion();
+        Section[][] subjects = bySubject;
+        Roots current = roots;
+        if (current != null && current.version == version && current.subjects == subjects) {
+            return current.ordinals;
+        }
+        List<Subject> indexed = new ArrayList<>();
+        for (Section[] bucket : subjects) {
+            for (int i = 0; bucket != null && i < bucket.length; i++) {
+                indexed.add(bucket[i].getSubject());
+            }
+        }
+        OrdinalSet ordinals = Curriculum.rootsOf(indexed);
+        roots = new Roots(version, subjects, ordinals);
+        return ordinals;
+    }
+
+    /** Whether the section clears the student's load, given the slots that load occupies. */
+    static boolean fits(Section section, int occupiedSlots, Student student) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            // Free-form sections in the load mark every slot they overlap, so this is exact
+            return (occupiedSlots & schedule.getSlotMask()) == 0;
+        }
+        return !student.hasClashWith(schedule);
+    }
+
+    /** Open sections of any subject meeting at, or for free-form sections overlapping, the given slot schedule. */
+    List<Section> findOpenSectionsAt(Schedule schedule) {
+        if (!schedule.isSlotted()) {
+            throw new IllegalArgumentException("Sections are indexed by standard slot, not by " + schedule);
+        }
+        List<Section> open = new ArrayList<>();
+        for (Section section : bySlot[schedule.getSlot()]) {
+            if (!section.isAtCapacity()) {
+                open.add(section);
+            }
+        }
+        return open;
+    }
+
+    /** Bitmask of the slots at which the subject has at least one section with seats left. */
+    int getOpenSlotMask(Subject subject) {
+        int mask = 0;
+        for (Section section : sectionsOf(subject)) {
+            if (!section.isAtCapacity()) {
+                mask |= section.getSchedule().getSlotMask();
+            }
+        }
+        return mask;
+    }
+
+    List<Section> getSections(Subject subject) {
+        return List.of(sectionsOf(subject));
+    }
+
+    private Section[] sectionsOf(Subject subject) {
+        Section[][] subjects = bySubject;
+        int ordinal = subject.getOrdinal();
+        Section[] bucket = ordinal < subjects.length ? subjects[ordinal] : null;
+        return bucket == null ? NONE : bucket;
+    }
+
+    private static final class Roots {
+        private final int version;
+        // The bySubject array the roots were computed from; any added section replaces it
+        private final Section[][] subjects;
+        private final OrdinalSet ordinals;
+
+        Roots(int version, Section[][] subjects, OrdinalSet ordinals) {
+            this.version = version;
+            this.subjects = subjects;
+            this.ordinals = ordinals;
+        }
+    }
+}
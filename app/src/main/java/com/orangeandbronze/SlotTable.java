@@ -0,0 +1,145 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Which sections hold the time of a room or instructor. Standard slots are claimed with a
+ * compare-and-set, so two sections can never end up holding the same slot and the common case
+ * takes no lock. Free-form schedules go into an interval index under the table's monitor.
+ *
+ * The two sides meet through freeFormMask, the slots overlapped by free-form sections: a
+ * slotted claim sets its slot and then checks the mask, a free-form claim sets the mask and
+ * then checks the slots, so of two racing claims for overlapping times at least one sees the
+ * other. Both may back off, in which case both report a conflict.
+ */
+final class SlotTable {
+    private final AtomicReferenceArray<Section> occupants;
+    private final IntervalIndex<Section> freeForm;
+    private volatile int freeFormMask;
+
+    SlotTable() {
+        this.occupants = new AtomicReferenceArray<>(Schedule.SLOT_COUNT);
+        this.freeForm = new IntervalIndex<>();
+    }
+
+    /** Claims the section's time; returns false if a different section already holds any of it. */
+    boolean claim(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (!schedule.isSlotted()) {
+            return claimFreeForm(section);
+        }
+        int slot = schedule.getSlot();
+        if (!occupants.compareAndSet(slot, null, section)) {
+            return occupants.get(slot) == section;
+        }
+        if ((freeFormMask & schedule.getSlotMask()) != 0) {
+            occupants.compareAndSet(slot, section, null);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized boolean claimFreeForm(Section section) {
+        Schedule schedule = section.getSchedule();
+        Section clashing = freeForm.findOverlap(schedule);
+        if (clashing != null) {
+            return clashing == section;
+        }
+        int previous = freeFormMask;
+        freeFormMask = previous | schedule.getSlotMask();
+        if (firstOccupant(schedule.getSlotMask()) != null) {
+            freeFormMask = previous;
+            return false;
+        }
+        freeForm.add(schedule, section);
+        return true;
+    }
+
+    // Snapshot support: takes the section's time as is, since it was claimed without conflict before
+    void install(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            occupants.set(schedule.getSlot(), section);
+        } else {
+            installFreeForm(section);
+        }
+    }
+
+    private synchronized void installFreeForm(Section section) {
+        freeForm.add(section.getSchedule(), section);
+        freeFormMask |= section.getSchedule().getSlotMask();
+    }
+
+    void release(Section section) {
+        Schedule schedule = section.getSchedule();
+        if (schedule.isSlotted()) {
+            occupants.compareAndSet(schedule.getSlot(), section, null);
+        } else {
+            releaseFreeForm(section);
+        }
+    }
+
+    private synchronized void releaseFreeForm(Section section) {
+        if (freeForm.remove(section.getSchedule(), section)) {
+            int mask = 0;
+            for (int i = 0; i < freeForm.size(); i++) {
+                mask |= freeForm.getOwner(i).getSchedule().getSlotMask();
+            }
+            freeFormMask = mask;
+        }
+    }
+
+    /** A section holding time that overlaps the schedule, or null if the schedule is free. */
+    Section getOccupant(Schedule schedule) {
+        if (schedule.isSlotted()) {
+            Section occupant = occupants.get(schedule.getSlot());
+            if (occupant != null || (freeFormMask & schedule.getSlotMask()) == 0) {
+                return occupant;
+            }
+        } else {
+            Section occupant = firstOccupant(schedule.getSlotMask());
+            if (occupant != null) {
+                return occupant;
+            }
+        }
+        synchronized (this) {
+            return freeForm.findOverlap(schedule);
+        }
+    }
+
+    boolean isFree(Schedule schedule) {
+        return getOccupant(schedule) == null;
+    }
+
+    private Section firstOccupant(int mask) {
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            Section occupant = occupants.get(Integer.numberOfTrailingZeros(bits));
+            if (occupant != null) {
+                return occupant;
+            }
+        }
+        return null;
+    }
+
+    int getFreeSlotMask() {
+        int mask = 0;
+        for (int slot = 0; slot < Schedule.SLOT_COUNT; slot++) {
+            if (occupants.get(slot) == null) {
+                mask |= 1 << slot;
+            }
+        }
+        return mask & ~freeFormMask;
+    }
+
+    List<Schedule> getFreeSchedules() {
+        List<Schedule> free = new ArrayList<>();
+        int mask = getFreeSlotMask();
+        for (int slot = 0; slot < Schedule.SLOT_COUNT; slot++) {
+            if ((mask & (1 << slot)) != 0) {
+                free.add(Schedule.forSlot(slot));
+            }
+        }
+        return free;
+    }
+}
@@ -1,110 +1,424 @@
 package com.orangeandbronze;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 
 import com.orangeandbronze.exceptions.*;
 
  class Student {
+    private static volatile EnrollmentListener listener = EnrollmentListener.NONE;
+    private static volatile EnrollmentMetrics metrics;
+
     private final int studentNumber;
-    private final Set<Section> enrolledSections;
-    private final Set<Subject> completedSubjects;
+    // No two sections of a load meet at the same time, so the timetable is the load itself
+    private final LoadTable load;
+    // Running totals over the load, kept in step by occupySlot/vacateSlot
+    private int totalUnits;
+    private int labSubjectCount;
+    private volatile Assessment defaultAssessment;
+    // Completed subjects in completion order, with the ordinal set answering membership
+    private Subject[] completedSubjects;
+    private int completedCount;
+    private final OrdinalSet completedSubjectOrdinals;
+    // Subjects with prerequisites that are all completed, as of curriculum version unlockedVersion
+    private final OrdinalSet unlockedSubjectOrdinals;
+    private int unlockedVersion;
 
      Student(int studentNumber) {
         if (studentNumber < 0) {
             throw new IllegalArgumentException("Student number must be non-negative");
         }
         this.studentNumber = studentNumber;
-        this.enrolledSections = new HashSet<>();
-        this.completedSubjects = new HashSet<>();
+        this.load = new LoadTable();
+        this.completedSubjects = new Subject[4];
+        this.completedSubjectOrdinals = new OrdinalSet();
+        this.unlockedSubjectOrdinals = new OrdinalSet();
+        this.unlockedVersion = Curriculum.getVersion();
+    }
+
+    static void setListener(EnrollmentListener enrollmentListener) {
+        listener = enrollmentListener == null ? EnrollmentListener.NONE : enrollmentListener;
     }
 
+    /** Installs the metrics every student records into, or turns recording off when null. */
+    static void setMetrics(EnrollmentMetrics enrollmentMetrics) {
+        metrics = enrollmentMetrics;
+    }
+
+    // Student state is guarded by the student's own monitor; sections are lock-free
      void enlist(Section section) throws EnlistmentException {
-        validateEnlistment(section);
-        enrolledSections.add(section);
-        section.addStudent(this);
+        EnlistmentResult result = tryEnlist(section);
+        if (!result.isEnlisted()) {
+            throw result.getFailure();
+        }
+    }
+
+    /**
+     * Enlists without throwing. A rejection is reported through the result's code and the
+     * offending section or subject; its message is only built if someone asks for it.
+     */
+     EnlistmentResult tryEnlist(Section section) {
+        EnrollmentMetrics recorder = metrics;
+        if (recorder == null) {
+            return attemptEnlist(section);
+        }
+        long start = System.nanoTime();
+        EnlistmentResult result = attemptEnlist(section);
+        recorder.recordEnlistment(result, System.nanoTime() - start);
+        return result;
+    }
+
+    private synchronized EnlistmentResult attemptEnlist(Section section) {
+        EnlistmentResult rejection = checkEnlistment(section);
+        if (rejection != null) {
+            return rejection;
+        }
+        if (!section.tryClaimSeat()) {
+            return EnlistmentResult.rejected(section, EnlistmentResult.Rejection.CAPACITY_REACHED, section);
+        }
+        try {
+            listener.onEnlisted(this, section);
+        } catch (RuntimeException | Error e) {
+            section.releaseSeat();
+            throw e;
+        }
+        admit(section);
+        return EnlistmentResult.enlisted(section);
+    }
+
+    /**
+     * Enlists, or joins the section's waitlist if the only problem is that it is full. A
+     * WAITLISTED student is enlisted automatically, after revalidation, once a seat frees up.
+     */
+     EnlistmentResult enlistOrWaitlist(Section section) {
+        EnlistmentResult result = tryEnlist(section);
+        if (result.getRejection() != EnlistmentResult.Rejection.CAPACITY_REACHED || !section.joinWaitlist(this)) {
+            return result;
+        }
+        // A seat may have been freed after our attempt but before we joined the line
+        section.promoteWaitlisted();
+        EnlistmentResult waitlisted = EnlistmentResult.waitlisted(section);
+        EnrollmentMetrics recorder = metrics;
+        if (recorder != null) {
+            recorder.recordOutcome(waitlisted);
+        }
+        return waitlisted;
+    }
+
+    /** Gives up the student's place on the section's waitlist; false if they were not on it. */
+    boolean leaveWaitlist(Section section) {
+        return section.leaveWaitlist(this);
+    }
+
+    /**
+     * Enlists in every section of the cart or in none of them. The whole cart is validated
+     * against the current load and against itself before any seat is claimed; if a seat is
+     * lost to another student while claiming, the seats already claimed are given back.
+     * Results are returned in cart order.
+     */
+     List<EnlistmentResult> enlistAll(Collection<Section> cart) {
+        List<EnlistmentResult> results = attemptEnlistAll(cart);
+        EnrollmentMetrics recorder = metrics;
+        if (recorder != null) {
+            results.forEach(recorder::recordOutcome);
+        }
+        return results;
+    }
+
+    private synchronized List<EnlistmentResult> attemptEnlistAll(Collection<Section> cart) {
+        Section[] sections = cart.toArray(new Section[0]);
+        // Refuse up front rather than partway through claiming seats
+        for (Section section : sections) {
+            section.checkWritable();
+        }
+        EnlistmentResult[] results = new EnlistmentResult[sections.length];
+        boolean rejected = checkCart(sections, results, true);
+
+        for (int i = 0; i < sections.length && !rejected; i++) {
+            if (!sections[i].tryClaimSeat()) {
+                for (int j = 0; j < i; j++) {
+                    sections[j].releaseSeat();
+                }
+                results[i] = EnlistmentResult.rejected(sections[i], EnlistmentResult.Rejection.CAPACITY_REACHED, sections[i]);
+                rejected = true;
+            }
+        }
+
+        try {
+            return admitCart(sections, results, rejected, true);
+        } catch (RuntimeException | Error e) {
+            for (Section section : sections) {
+                section.releaseSeat();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cart enlistment for callers that have already claimed one seat per cart entry and that
+     * put the student on each section's roster themselves, such as the partitioned engine,
+     * whose workers are the only threads allowed to change their sections. Only the student's
+     * load is changed here. Nothing is admitted if any section is rejected or the listener
+     * vetoes the cart, in which case the caller must give the claimed seats back.
+     */
+     List<EnlistmentResult> enlistAllClaimed(Collection<Section> cart) {
+        List<EnlistmentResult> results;
+        synchronized (this) {
+            Section[] sections = cart.toArray(new Section[0]);
+            EnlistmentResult[] checked = new EnlistmentResult[sections.length];
+            results = admitCart(sections, checked, checkCart(sections, checked, false), false);
+        }
+        EnrollmentMetrics recorder = metrics;
+        if (recorder != null) {
+            results.forEach(recorder::recordOutcome);
+        }
+        return results;
     }
 
-    private void validateEnlistment(Section section) throws EnlistmentException {
+    // Records each rejection in results and reports whether there was any
+    private boolean checkCart(Section[] sections, EnlistmentResult[] results, boolean checkCapacity) {
+        boolean rejected = false;
+        LoadTable cartTable = new LoadTable();
+        Map<Subject, Section> cartBySubject = new HashMap<>();
+        for (int i = 0; i < sections.length; i++) {
+            EnlistmentResult rejection = checkEnlistment(sections[i]);
+            if (rejection == null) {
+                rejection = checkAgainstCart(sections[i], cartTable, cartBySubject);
+            }
+            if (rejection == null && checkCapacity && sections[i].isAtCapacity()) {
+                rejection = EnlistmentResult.rejected(sections[i], EnlistmentResult.Rejection.CAPACITY_REACHED, sections[i]);
+            }
+            if (rejection != null) {
+                results[i] = rejection;
+                rejected = true;
+            }
+        }
+        return rejected;
+    }
+
+    // Throws, having changed nothing, if the listener vetoes the cart
+    private List<EnlistmentResult> admitCart(Section[] sections, EnlistmentResult[] results, boolean rejected,
+            boolean joinRosters) {
+        if (!rejected && sections.length > 0) {
+            listener.onEnlistedAll(this, Arrays.asList(sections));
+        }
+        for (int i = 0; i < sections.length; i++) {
+            if (rejected) {
+                if (results[i] == null) {
+                    results[i] = EnlistmentResult.aborted(sections[i]);
+                }
+            } else {
+                if (joinRosters) {
+                    admit(sections[i]);
+                } else {
+                    occupySlot(sections[i]);
+                }
+                results[i] = EnlistmentResult.enlisted(sections[i]);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static EnlistmentResult checkAgainstCart(Section section, LoadTable cartTable,
+            Map<Subject, Section> cartBySubject) {
+        Section clashing = cartTable.findClash(section.getSchedule());
+        if (clashing != null) {
+            return clashing.equals(section)
+                    ? EnlistmentResult.rejected(section, EnlistmentResult.Rejection.DUPLICATE_IN_CART, clashing)
+                    : EnlistmentResult.rejected(section, EnlistmentResult.Rejection.SCHEDULE_CONFLICT, clashing);
+        }
+        Section sameSubject = cartBySubject.putIfAbsent(section.getSubject(), section);
+        if (sameSubject != null) {
+            return EnlistmentResult.rejected(section, EnlistmentResult.Rejection.SAME_SUBJECT, sameSubject);
+        }
+        cartTable.add(section);
+        return null;
+    }
+
+    // Returns null when the section fits the current load, so the accepted path allocates nothing
+    private EnlistmentResult checkEnlistment(Section section) {
         // Check if already enrolled in this section
-        if (enrolledSections.contains(section)) {
-            throw new EnlistmentException("Student already enrolled in section " + section.getSectionId());
+        if (isEnlistedIn(section)) {
+            return EnlistmentResult.rejected(section, EnlistmentResult.Rejection.ALREADY_ENROLLED, section);
         }
 
         // Check for schedule conflicts
-        for (Section enrolledSection : enrolledSections) {
-            if (enrolledSection.hasScheduleConflict(section)) {
-                throw new ScheduleConflictException("Schedule conflict between sections " +
-                        enrolledSection.getSectionId() + " and " + section.getSectionId());
-            }
+        Section clashing = load.findClash(section.getSchedule());
+        if (clashing != null) {
+            return EnlistmentResult.rejected(section, EnlistmentResult.Rejection.SCHEDULE_CONFLICT, clashing);
         }
 
         // Check for same subject enrollment
-        for (Section enrolledSection : enrolledSections) {
-            if (enrolledSection.getSubject().equals(section.getSubject())) {
-                throw new SameSubjectEnrollmentException("Student already enrolled in subject " +
-                        section.getSubject().getSubjectId());
-            }
+        Section sameSubject = sectionOf(section.getSubject());
+        if (sameSubject != null) {
+            return EnlistmentResult.rejected(section, EnlistmentResult.Rejection.SAME_SUBJECT, sameSubject);
         }
 
         // Check prerequisites
-        Subject subject = section.getSubject();
-        for (Subject prerequisite : subject.getPrerequisites()) {
-            if (!completedSubjects.contains(prerequisite)) {
-                throw new PrerequisiteNotMetException("Prerequisite " + prerequisite.getSubjectId() +
-                        " not completed for subject " + subject.getSubjectId());
-            }
+        int missing = completedSubjectOrdinals.firstMissing(section.getSubject().getPrerequisiteOrdinals());
+        if (missing >= 0) {
+            return EnlistmentResult.prerequisiteNotMet(section, missing);
         }
+        return null;
+    }
+
+    // The listener has already been told; it runs first so that a veto leaves nothing to undo
+    private void admit(Section section) {
+        section.admitStudent(this);
+        occupySlot(section);
+    }
+
+    /*
+     * Replay support: apply a change that was already validated when it was first made,
+     * without revalidating, claiming a seat through the capacity check or notifying the listener.
+     */
+    synchronized void restoreEnlistment(Section section) {
+        if (load.findClash(section.getSchedule()) == null) {
+            section.restoreStudent(this);
+            occupySlot(section);
+        }
+    }
 
-        // Check room capacity
-        if (section.isAtCapacity()) {
-            throw new CapacityReachedException("Section " + section.getSectionId() + " is at full capacity");
+    synchronized void restoreCancellation(Section section) {
+        if (isEnlistedIn(section)) {
+            vacateSlot(section);
+            section.removeStudent(this);
         }
     }
 
+    synchronized void restoreCompletedSubject(Subject subject) {
+        addCompletedSubject(subject);
+    }
+
      void cancel(Section section) throws EnlistmentException {
-        if (!enrolledSections.contains(section)) {
-            throw new EnlistmentException("Student not enrolled in section " + section.getSectionId());
+        EnrollmentMetrics recorder = metrics;
+        long start = recorder == null ? 0 : System.nanoTime();
+        synchronized (this) {
+            section.checkWritable();
+            if (!isEnlistedIn(section)) {
+                throw new EnlistmentException("Student not enrolled in section " + section.getSectionId());
+            }
+            listener.onCancelled(this, section);
+            vacateSlot(section);
+            section.removeStudent(this);
+        }
+        // Outside our monitor: promotion locks the waiting student
+        section.promoteWaitlisted();
+        if (recorder != null) {
+            recorder.recordCancellation(System.nanoTime() - start);
+        }
+    }
+
+    private void occupySlot(Section section) {
+        load.add(section);
+        adjustTotals(section.getSubject(), 1);
+    }
+
+    private void vacateSlot(Section section) {
+        load.remove(section);
+        adjustTotals(section.getSubject(), -1);
+    }
+
+    private void adjustTotals(Subject subject, int direction) {
+        totalUnits += direction * subject.getUnits();
+        if (subject.isLaboratory()) {
+            labSubjectCount += direction;
         }
-        enrolledSections.remove(section);
-        section.removeStudent(this);
+        defaultAssessment = null;
     }
 
      BigDecimal requestAssessment() {
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        int totalUnits = 0;
-        int labSubjectCount = 0;
-
-        for (Section section : enrolledSections) {
-            Subject subject = section.getSubject();
-            totalUnits += subject.getUnits();
-            if (subject.isLaboratory()) {
-                labSubjectCount++;
-            }
+        EnrollmentMetrics recorder = metrics;
+        if (recorder == null) {
+            return assess(FeeSchedule.DEFAULT).getTotalAmount();
         }
+        long start = System.nanoTime();
+        BigDecimal total = assess(FeeSchedule.DEFAULT).getTotalAmount();
+        recorder.recordAssessment(System.nanoTime() - start);
+        return total;
+    }
 
-        BigDecimal unitFee = new BigDecimal("2345.67");
-        BigDecimal labFee = new BigDecimal("1234.56");
-        BigDecimal miscFee = new BigDecimal("3456.78");
+    /**
+     * Assessments come from running unit and lab counters, so they cost the same however large
+     * the load. The default-schedule assessment is also cached until the load next changes, and
+     * reading a cached one takes no lock.
+     */
+     Assessment assess(FeeSchedule fees) {
+        Assessment cached = defaultAssessment;
+        if (cached != null && fees == FeeSchedule.DEFAULT) {
+            return cached;
+        }
+        return computeAssessment(fees);
+    }
 
-        // Calculate base
-        totalAmount = totalAmount
-                .add(unitFee.multiply(new BigDecimal(totalUnits)))
-                .add(labFee.multiply(new BigDecimal(labSubjectCount)))
-                .add(miscFee);
+    private synchronized Assessment computeAssessment(FeeSchedule fees) {
+        Assessment assessment = new Assessment(studentNumber, totalUnits, labSubjectCount,
+                fees.totalCentavos(totalUnits, labSubjectCount));
+        if (fees == FeeSchedule.DEFAULT) {
+            defaultAssessment = assessment;
+        }
+        return assessment;
+    }
 
-        // Calculate VAT
-        BigDecimal vat = totalAmount.multiply(new BigDecimal("0.12"));
-        vat = vat.setScale(2, RoundingMode.HALF_UP); // <-- ROUND IT!
+     synchronized void completeSubject(Subject subject) {
+        listener.onSubjectCompleted(this, subject);
+        addCompletedSubject(subject);
+    }
 
-        totalAmount = totalAmount.add(vat);
+    private void addCompletedSubject(Subject subject) {
+        if (completedSubjectOrdinals.contains(subject.getOrdinal())) {
+            return;
+        }
+        completedSubjectOrdinals.add(subject.getOrdinal());
+        if (completedCount == completedSubjects.length) {
+            completedSubjects = Arrays.copyOf(completedSubjects, completedCount * 2);
+        }
+        completedSubjects[completedCount++] = subject;
+        unlockDependents(subject);
+    }
 
-        return totalAmount.setScale(2, RoundingMode.HALF_UP); // <-- ROUND FINAL TOTAL
+    // Only subjects that list the completed one as a prerequisite can have become takeable
+    private void unlockDependents(Subject subject) {
+        for (Subject dependent : subject.getDependents()) {
+            if (completedSubjectOrdinals.containsAll(dependent.getPrerequisiteOrdinals())) {
+                unlockedSubjectOrdinals.add(dependent.getOrdinal());
+            }
+        }
     }
 
-     void completeSubject(Subject subject) {
-        completedSubjects.add(subject);
+    /**
+     * Ordinals of the subjects the student may take now: one of the given roots, the catalog's
+     * subjects without prerequisites, or a subject whose prerequisites are all completed; and
+     * not completed already or in the current load. The set is a fresh copy. Kept up to date
+     * by completeSubject; a prerequisite added to the curriculum since triggers a rebuild.
+     */
+    synchronized OrdinalSet getEligibleSubjectOrdinals(OrdinalSet roots) {
+        int version = Curriculum.getVersion();
+        if (version != unlockedVersion) {
+            unlockedSubjectOrdinals.clear();
+            for (int i = 0; i < completedCount; i++) {
+                unlockDependents(completedSubjects[i]);
+            }
+            unlockedVersion = version;
+        }
+        OrdinalSet eligible = roots.copy();
+        eligible.addAll(unlockedSubjectOrdinals);
+        eligible.removeAll(completedSubjectOrdinals);
+        load.forEach(section -> eligible.remove(section.getSubject().getOrdinal()));
+        return eligible;
+    }
+
+    synchronized boolean isEnlistedIn(Section section) {
+        return load.contains(section);
+    }
+
+    private Section sectionOf(Subject subject) {
+        return load.findBySubject(subject);
+    }
+
+    /** Whether a section at the schedule would clash with the student's current load. */
+    synchronized boolean hasClashWith(Schedule schedule) {
+        return load.findClash(schedule) != null;
     }
 
     // Getters
@@ -112,12 +426,25 @@ import com.orangeandbronze.exceptions.*;
         return studentNumber;
     }
 
-     Set<Section> getEnrolledSections() {
-        return new HashSet<>(enrolledSections);
+     synchronized Set<Section> getEnrolledSections() {
+        Set<Section> sections = new HashSet<>();
+        load.forEach(sections::add);
+        return sections;
+    }
+
+     synchronized Set<Subject> getCompletedSubjects() {
+        return new HashSet<>(Arrays.asList(completedSubjects).subList(0, completedCount));
+    }
+
+    /** Standard slots the load holds or, for free-form sections, overlaps. */
+    synchronized int getOccupiedSlots() {
+        return load.getOccupiedSlots();
     }
 
-     Set<Subject> getCompletedSubjects() {
-        return new HashSet<>(completedSubjects);
+    /** Whether the student has the subject's prerequisites and is not already enlisted in it. */
+    synchronized boolean canTake(Subject subject) {
+        return sectionOf(subject) == null
+                && completedSubjectOrdinals.containsAll(subject.getPrerequisiteOrdinals());
     }
 
     @Override
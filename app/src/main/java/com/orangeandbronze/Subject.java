@@ -6,7 +6,13 @@ class Subject {
     private final String subjectId;
     private final int units;
     private final boolean isLaboratory;
-    private final Set<Subject> prerequisites;
+    private final int ordinal;
+    // Replaced wholesale by Curriculum under its lock, so readers never see a half-updated set
+    private volatile Set<Subject> prerequisites;
+    private volatile OrdinalSet prerequisiteOrdinals;
+    private volatile OrdinalSet transitivePrerequisiteOrdinals;
+    // Subjects listing this one as a direct prerequisite; copied on write like the ordinal sets
+    private volatile Subject[] dependents;
 
     Subject(String subjectId, int units, boolean isLaboratory) {
         if (!ValidationUtils.isAlphanumeric(subjectId)) {
@@ -18,11 +24,48 @@ class Subject {
         this.subjectId = subjectId;
         this.units = units;
         this.isLaboratory = isLaboratory;
-        this.prerequisites = new HashSet<>();
+        this.prerequisites = Set.of();
+        this.ordinal = Curriculum.ordinalOf(subjectId);
+        this.prerequisiteOrdinals = new OrdinalSet();
+        this.transitivePrerequisiteOrdinals = new OrdinalSet();
+        this.dependents = new Subject[0];
     }
 
     void addPrerequisite(Subject prerequisite) {
-        prerequisites.add(prerequisite);
+        Curriculum.link(this, prerequisite);
+    }
+
+    /**
+     * Snapshot support: installs prerequisites that were validated when first added, skipping
+     * the cycle check. The prerequisites must themselves be fully restored already.
+     */
+    void restorePrerequisites(Collection<Subject> restored) {
+        if (!restored.isEmpty()) {
+            Curriculum.restoreLinks(this, restored);
+        }
+    }
+
+    void publishPrerequisiteSubjects(Set<Subject> subjects) {
+        this.prerequisites = Collections.unmodifiableSet(subjects);
+    }
+
+    void publishPrerequisites(OrdinalSet ordinals) {
+        this.prerequisiteOrdinals = ordinals;
+    }
+
+    void publishTransitivePrerequisites(OrdinalSet ordinals) {
+        this.transitivePrerequisiteOrdinals = ordinals;
+    }
+
+    void addDependent(Subject dependent) {
+        for (Subject existing : dependents) {
+            if (existing.equals(dependent)) {
+                return;
+            }
+        }
+        Subject[] updated = Arrays.copyOf(dependents, dependents.length + 1);
+        updated[dependents.length] = dependent;
+        dependents = updated;
     }
 
     // Getters
@@ -42,6 +85,32 @@ class Subject {
         return new HashSet<>(prerequisites);
     }
 
+    Subject getPrerequisite(int ordinal) {
+        for (Subject prerequisite : prerequisites) {
+            if (prerequisite.ordinal == ordinal) {
+                return prerequisite;
+            }
+        }
+        return null;
+    }
+
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    // The ordinal sets are shared; callers must treat them as read-only
+    OrdinalSet getPrerequisiteOrdinals() {
+        return prerequisiteOrdinals;
+    }
+
+    OrdinalSet getTransitivePrerequisiteOrdinals() {
+        return transitivePrerequisiteOrdinals;
+    }
+
+    List<Subject> getDependents() {
+        return Collections.unmodifiableList(Arrays.asList(dependents));
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -0,0 +1,127 @@
+package com.orangeandbronze;
+
+import java.util.*;
+
+import com.orangeandbronze.exceptions.ScheduleConflictException;
+
+/**
+ * Builds a reproducible catalog of subjects, rooms, instructors, sections and students
+ * for benchmarks and load tests. Subjects are laid out in prerequisite layers: every subject below the
+ * first layer requires one subject from the layer before it.
+ */
+class SyntheticUniversity {
+    private final List<Subject> subjects;
+    private final List<Room> rooms;
+    private final List<Instructor> instructors;
+    private final List<Section> sections;
+    private final List<Student> students;
+
+    SyntheticUniversity(int studentCount, int subjectCount, int prerequisiteDepth,
+            int roomCount, int instructorCount, int sectionCount, long seed) {
+        if (prerequisiteDepth <= 0 || prerequisiteDepth > subjectCount) {
+            throw new IllegalArgumentException("Prerequisite depth must be between 1 and the subject count");
+        }
+        if (sectionCount > Schedule.SLOT_COUNT * Math.min(roomCount, instructorCount)) {
+            throw new IllegalArgumentException("Not enough rooms and instructors for " + sectionCount + " sections");
+        }
+        Random random = new Random(seed);
+        this.subjects = createSubjects(subjectCount, prerequisiteDepth, random);
+        this.rooms = createRooms(roomCount, random);
+        this.instructors = createInstructors(instructorCount);
+        this.sections = createSections(sectionCount);
+        this.students = createStudents(studentCount, prerequisiteDepth, random);
+    }
+
+    private static List<Subject> createSubjects(int count, int depth, Random random) {
+        List<Subject> subjects = new ArrayList<>(count);
+        int layerSize = count / depth;
+        for (int i = 0; i < count; i++) {
+            Subject subject = new Subject(String.format("SUBJ%05d", i), 1 + random.nextInt(5), random.nextInt(5) == 0);
+            int layer = Math.min(i / layerSize, depth - 1);
+            if (layer > 0) {
+                subject.addPrerequisite(subjects.get((layer - 1) * layerSize + random.nextInt(layerSize)));
+            }
+            subjects.add(subject);
+        }
+        return subjects;
+    }
+
+    private static List<Room> createRooms(int count, Random random) {
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rooms.add(new Room(String.format("R%04d", i), 15 + random.nextInt(36)));
+        }
+        return rooms;
+    }
+
+    private static List<Instructor> createInstructors(int count) {
+        List<Instructor> instructors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instructors.add(new Instructor("Instructor " + i));
+        }
+        return instructors;
+    }
+
+    // Section i takes slot i % 18, so each room and instructor gets at most one section per slot
+    private List<Section> createSections(int count) {
+        Schedule[] schedules = allSchedules();
+        List<Section> sections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Schedule schedule = schedules[i % schedules.length];
+            Room room = rooms.get((i / schedules.length) % rooms.size());
+            Instructor instructor = instructors.get((i / schedules.length) % instructors.size());
+            Subject subject = subjects.get(i % subjects.size());
+            try {
+                sections.add(new Section(String.format("SEC%06d", i), subject, schedule, room, instructor));
+            } catch (ScheduleConflictException e) {
+                throw new IllegalStateException("Generated catalog has a conflict", e);
+            }
+        }
+        return sections;
+    }
+
+    // Students complete a random share of the subjects outside the last layer
+    private List<Student> createStudents(int count, int depth, Random random) {
+        int completable = subjects.size() - subjects.size() / depth;
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student(i);
+            for (int j = 0; j < completable; j++) {
+                if (random.nextInt(3) == 0) {
+                    student.completeSubject(subjects.get(j));
+                }
+            }
+            students.add(student);
+        }
+        return students;
+    }
+
+    static Schedule[] allSchedules() {
+        Schedule[] schedules = new Schedule[Schedule.SLOT_COUNT];
+        for (int slot = 0; slot < schedules.length; slot++) {
+            schedules[slot] = Schedule.forSlot(slot);
+        }
+        return schedules;
+    }
+
+    // Getters
+    List<Subject> getSubjects() {
+        return subjects;
+    }
+
+    List<Room> getRooms() {
+        return rooms;
+    }
+
+    List<Instructor> getInstructors() {
+        return instructors;
+    }
+
+    List<Section> getSections() {
+        return sections;
+    }
+
+    List<Student> getStudents() {
+        return students;
+    }
+}
@@ -0,0 +1,210 @@
+package com.orangeandbronze;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Enumerates conflict-free combinations of open sections, one per requested subject, that fit
+ * around a student's current load. The search backtracks over slot bitmaps, tries the subjects
+ * with the fewest candidate sections first, and forks the top levels of the search tree onto a
+ * fork-join pool once the subject list is large enough to pay for it.
+ */
+final class TimetableGenerator {
+    /** Fewer meeting days first, then fewer idle periods between classes. */
+    static final Comparator<Timetable> FEWEST_DAYS = Comparator.comparingInt(Timetable::getMeetingDayCount)
+            .thenComparingInt(Timetable::getIdlePeriodCount);
+
+    // Below this many subjects the whole search is cheaper than forking it
+    private static final int PARALLEL_THRESHOLD = 4;
+    // Levels left to search below which a task no longer forks
+    private static final int SEQUENTIAL_DEPTH = 3;
+
+    private final SectionIndex index;
+    private final ForkJoinPool pool;
+
+    TimetableGenerator(SectionIndex index) {
+        this(index, ForkJoinPool.commonPool());
+    }
+
+    TimetableGenerator(SectionIndex index, ForkJoinPool pool) {
+        this.index = Objects.requireNonNull(index);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Returns at most {@code limit} timetables, best first by the given ranking. Subjects the
+     * student cannot take yet, or that have no open section outside the student's occupied
+     * slots, make the result empty.
+     */
+    List<Timetable> generate(Student student, Collection<Subject> subjects, int limit, Comparator<Timetable> ranking) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        int occupiedSlots = student.getOccupiedSlots();
+        List<Section[]> candidates = new ArrayList<>();
+        for (Subject subject : new LinkedHashSet<>(subjects)) {
+            if (!student.canTake(subject)) {
+                return List.of();
+            }
+            List<Section> open = index.findOpenSections(subject, student);
+            if (open.isEmpty()) {
+                return List.of();
+            }
+            candidates.add(open.toArray(new Section[0]));
+        }
+        candidates.sort(Comparator.comparingInt((Section[] sections) -> sections.length));
+
+        Search search = new Search(candidates.toArray(new Section[0][]), limit, ranking);
+        Section[] chosen = new Section[candidates.size()];
+        TopK best = candidates.size() >= PARALLEL_THRESHOLD
+                ? pool.invoke(search.task(0, occupiedSlots, chosen))
+                : search.run(0, occupiedSlots, chosen, new TopK(limit, ranking));
+        return best.sorted();
+    }
+
+    private static final class Search {
+        private final Section[][] candidates;
+        private final int limit;
+        private final Comparator<Timetable> ranking;
+
+        Search(Section[][] candidates, int limit, Comparator<Timetable> ranking) {
+            this.candidates = candidates;
+            this.limit = limit;
+            this.ranking = ranking;
+        }
+
+        TopK run(int depth, int usedSlots, Section[] chosen, TopK best) {
+            if (depth == candidates.length) {
+                best.offer(new Timetable(List.of(chosen.clone())));
+                return best;
+            }
+            for (Section section : candidates[depth]) {
+                int mask = section.getSchedule().getSlotMask();
+                if (fits(section, usedSlots, chosen, depth)) {
+                    chosen[depth] = section;
+                    run(depth + 1, usedSlots | mask, chosen, best);
+                }
+            }
+            return best;
+        }
+
+        // Slot masks settle every clash involving a slotted section; two free-form ones need their meetings compared
+        private static boolean fits(Section section, int usedSlots, Section[] chosen, int depth) {
+            Schedule schedule = section.getSchedule();
+            if (schedule.isSlotted()) {
+                return (usedSlots & schedule.getSlotMask()) == 0;
+            }
+            for (int i = 0; i < depth; i++) {
+                if (chosen[i].getSchedule().conflictsWith(schedule)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        RecursiveTask<TopK> task(int depth, int usedSlots, Section[] chosen) {
+            return new RecursiveTask<>() {
+                @Override
+                protected TopK compute() {
+                    if (candidates.length - depth <= SEQUENTIAL_DEPTH) {
+                        return run(depth, usedSlots, chosen, new TopK(limit, ranking));
+                    }
+                    List<RecursiveTask<TopK>> forks = new ArrayList<>();
+                    for (Section section : candidates[depth]) {
+                        int mask = section.getSchedule().getSlotMask();
+                        if (fits(section, usedSlots, chosen, depth)) {
+                            Section[] branch = chosen.clone();
+                            branch[depth] = section;
+                            forks.add(task(depth + 1, usedSlots | mask, branch));
+                        }
+                    }
+                    TopK merged = new TopK(limit, ranking);
+                    for (RecursiveTask<TopK> fork : invokeAll(forks)) {
+                        merged.addAll(fork.join());
+                    }
+                    return merged;
+                }
+            };
+        }
+    }
+
+    // Keeps the best k seen so far; the head of the heap is the worst of them
+    private static final class TopK {
+        private final int limit;
+        private final Comparator<Timetable> ranking;
+        private final PriorityQueue<Timetable> heap;
+
+        TopK(int limit, Comparator<Timetable> ranking) {
+            this.limit = limit;
+            this.ranking = ranking;
+            this.heap = new PriorityQueue<>(ranking.reversed());
+        }
+
+        void offer(Timetable timetable) {
+            if (heap.size() < limit) {
+                heap.add(timetable);
+            } else if (ranking.compare(timetable, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(timetable);
+            }
+        }
+
+        void addAll(TopK other) {
+            other.heap.forEach(this::offer);
+        }
+
+        List<Timetable> sorted() {
+            List<Timetable> result = new ArrayList<>(heap);
+            result.sort(ranking);
+            return result;
+        }
+    }
+
+    /** One candidate load: a section per requested subject, with no two meeting at the same time. */
+    static final class Timetable {
+        private final List<Section> sections;
+        private final int slotMask;
+        private final int dayMask;
+
+        Timetable(List<Section> sections) {
+            this.sections = sections;
+            int mask = 0;
+            int days = 0;
+            for (Section section : sections) {
+                mask |= section.getSchedule().getSlotMask();
+                days |= section.getSchedule().getDayMask();
+            }
+            this.slotMask = mask;
+            this.dayMask = days;
+        }
+
+        List<Section> getSections() {
+            return sections;
+        }
+
+        int getSlotMask() {
+            return slotMask;
+        }
+
+        /** Calendar days with at least one class. */
+        int getMeetingDayCount() {
+            return Integer.bitCount(dayMask);
+        }
+
+        /** Free periods sandwiched between classes on the same day pattern. */
+        int getIdlePeriodCount() {
+            int periods = Schedule.Period.values().length;
+            int dayMask = (1 << periods) - 1;
+            int idle = 0;
+            for (int pattern = 0; pattern < Schedule.Days.values().length; pattern++) {
+                int day = (slotMask >>> (pattern * periods)) & dayMask;
+                if (day != 0) {
+                    int span = 32 - Integer.numberOfLeadingZeros(day) - Integer.numberOfTrailingZeros(day);
+                    idle += span - Integer.bitCount(day);
+                }
+            }
+            return idle;
+        }
+    }
+}
@@ -4,4 +4,8 @@ public class CapacityReachedException extends EnlistmentException {
     public CapacityReachedException(String message) {
         super(message);
     }
+
+    public CapacityReachedException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
\ No newline at end of file
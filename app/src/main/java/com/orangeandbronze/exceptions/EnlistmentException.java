@@ -5,4 +5,10 @@ public class EnlistmentException extends Exception {
     public EnlistmentException(String message) {
         super(message);
     }
+
+    // Pass false for rejections raised on hot paths, where filling in a stack trace dominates the cost;
+    // such exceptions also drop suppressed ones, while the full kind keeps both
+    public EnlistmentException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
 }
@@ -4,4 +4,8 @@ public class PrerequisiteNotMetException extends EnlistmentException {
     public PrerequisiteNotMetException(String message) {
         super(message);
     }
+
+    public PrerequisiteNotMetException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -4,4 +4,8 @@ public class SameSubjectEnrollmentException extends EnlistmentException {
     public SameSubjectEnrollmentException(String message) {
         super(message);
     }
+
+    public SameSubjectEnrollmentException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
\ No newline at end of file
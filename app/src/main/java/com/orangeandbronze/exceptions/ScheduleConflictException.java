@@ -4,4 +4,8 @@ public class ScheduleConflictException extends EnlistmentException {
     public ScheduleConflictException(String message) {
         super(message);
     }
+
+    public ScheduleConflictException(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+import com.orangeandbronze.exceptions.*;
+
+class AssessmentTest {
+
+    @Test
+    void testAssessAllStudents() throws EnlistmentException {
+        Subject math = new Subject("MATH101", 3, false);
+        Subject lab = new Subject("CHEM101L", 1, true);
+        Section mathSection = new Section("SEC001", math, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000),
+                new Room("A101", 500), new Instructor("Dr. Smith"));
+        Section labSection = new Section("SEC002", lab, Schedule.of(Schedule.Days.TF, Schedule.Period.H1000_1130),
+                new Room("LAB1", 500), new Instructor("Dr. Lab"));
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Student student = new Student(i);
+            student.enlist(mathSection);
+            if (i % 2 == 0) {
+                student.enlist(labSection);
+            }
+            students.add(student);
+        }
+
+        Map<Integer, Assessment> assessments = Assessment.assessAll(students, FeeSchedule.DEFAULT)
+                .collect(Collectors.toMap(Assessment::getStudentNumber, assessment -> assessment));
+
+        assertEquals(300, assessments.size());
+        assertEquals(new BigDecimal("15762.90"), assessments.get(0).getTotalAmount());
+        assertEquals(4, assessments.get(0).getUnits());
+        assertEquals(1, assessments.get(0).getLabSubjects());
+        assertEquals(students.get(1).requestAssessment(), assessments.get(1).getTotalAmount());
+    }
+}
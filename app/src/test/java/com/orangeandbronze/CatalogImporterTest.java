@@ -0,0 +1,68 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+class CatalogImporterTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("import");
+        write("subjects.csv", "subjectId,units,laboratory", "MATH101,3,false", "MATH201,3,false",
+                "CHEM101L,1,true", "BAD-ID,3,false", "PHYS101,x,false");
+        write("prerequisites.csv", "subjectId,prerequisiteId", "MATH201,MATH101", "MATH101,MATH201", "MATH201,NOPE101");
+        write("rooms.csv", "roomName,capacity", "A101,30", "LAB1,15", "A101,40");
+        write("instructors.csv", "name", "Dr. Smith", "Dr. Lab");
+        write("sections.csv", "sectionId,subjectId,days,period,roomName,instructorName",
+                "MATH101A,MATH101,MTH,H0830_1000,A101,Dr. Smith",
+                "CHEM101LA,CHEM101L,TF,H1000_1130,LAB1,Dr. Lab",
+                "MATH201A,MATH201,MTH,H0830_1000,A101,Dr. Lab",
+                "MATH201B,MATH201,XX,H0830_1000,A101,Dr. Lab");
+        write("transcripts.csv", "studentNumber,subjectId", "12345,MATH101", "12345,CHEM101L", "67890,MATH101", "-1,MATH101");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(directory.resolve(name), Arrays.asList(lines));
+    }
+
+    @Test
+    void testImportsValidRows() throws IOException {
+        CatalogImporter importer = CatalogImporter.importFrom(directory);
+
+        assertEquals(Set.of("MATH101", "MATH201", "CHEM101L"), importer.getSubjects().keySet());
+        assertEquals(Set.of(importer.getSubjects().get("MATH101")), importer.getSubjects().get("MATH201").getPrerequisites());
+        assertEquals(30, importer.getRooms().get("A101").getCapacity());
+        assertEquals(Set.of("MATH101A", "CHEM101LA"), importer.getSections().keySet());
+        assertEquals(2, importer.getStudents().get(12345).getCompletedSubjects().size());
+        assertEquals(2, importer.getStudents().size());
+    }
+
+    @Test
+    void testReportsRowErrors() throws IOException {
+        List<CatalogImporter.RowError> errors = CatalogImporter.importFrom(directory).getErrors();
+
+        Set<String> locations = new HashSet<>();
+        for (CatalogImporter.RowError error : errors) {
+            locations.add(error.getFile() + ":" + error.getLine());
+        }
+        assertEquals(Set.of("subjects.csv:5", "subjects.csv:6", "prerequisites.csv:3", "prerequisites.csv:4",
+                "rooms.csv:4", "sections.csv:4", "sections.csv:5", "transcripts.csv:5"), locations);
+    }
+}
@@ -0,0 +1,108 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.stream.Stream;
+import com.orangeandbronze.exceptions.*;
+
+class CatalogSnapshotTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        Subject math101 = new Subject("MATH101", 3, false);
+        Subject math201 = new Subject("MATH201", 3, false);
+        Subject chem101L = new Subject("CHEM101L", 1, true);
+        math201.addPrerequisite(math101);
+        Room room = new Room("A101", 30);
+        Instructor instructor = new Instructor("Dr. Smith");
+        Section math201Section = new Section("MATH201A", math201, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), room, instructor);
+        Section labSection = new Section("CHEM101LA", chem101L, Schedule.of(Schedule.Days.TF, Schedule.Period.H1000_1130), room, instructor);
+        Student student = new Student(12345);
+        student.completeSubject(math101);
+        student.enlist(math201Section);
+        student.enlist(labSection);
+
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        try {
+            // Listing only the student is enough; everything it refers to is included
+            new CatalogSnapshot(List.of(), List.of(), List.of(), List.of(), List.of(student)).writeTo(file);
+            CatalogSnapshot loaded = CatalogSnapshot.readFrom(file);
+
+            assertEquals(3, loaded.getSubjects().size());
+            assertEquals(2, loaded.getSections().size());
+            Student restored = loaded.getStudents().get(0);
+            assertEquals(12345, restored.getStudentNumber());
+            assertEquals(Set.of(math101), restored.getCompletedSubjects());
+            assertEquals(Set.of(math201Section, labSection), restored.getEnrolledSections());
+            assertEquals(student.requestAssessment(), restored.requestAssessment());
+
+            Section restoredSection = restored.getEnrolledSections().iterator().next();
+            assertEquals(1, restoredSection.getEnrollmentCount());
+            assertFalse(restoredSection.getRoom().isFree(restoredSection.getSchedule()));
+            assertSame(restoredSection, restoredSection.getInstructor().getSectionAt(restoredSection.getSchedule()));
+            Subject restoredMath201 = loaded.getSubjects().stream()
+                    .filter(subject -> subject.getSubjectId().equals("MATH201")).findFirst().orElseThrow();
+            assertEquals(Set.of(math101), restoredMath201.getPrerequisites());
+            assertTrue(restoredMath201.getTransitivePrerequisiteOrdinals().contains(math101.getOrdinal()));
+            assertEquals(List.of(restoredMath201), restoredMath201.getPrerequisite(math101.getOrdinal()).getDependents());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRoundTripKeepsFreeFormSchedules() throws Exception {
+        Schedule lab = Schedule.of(new Schedule.Meeting(DayOfWeek.TUESDAY, 13 * 60, 16 * 60),
+                new Schedule.Meeting(DayOfWeek.SATURDAY, 18 * 60, 20 * 60 + 30));
+        Section labSection = new Section("BIO101LA", new Subject("BIO101L", 1, true), lab, new Room("L201", 20),
+                new Instructor("Dr. Mendel"));
+        Student student = new Student(54321);
+        student.enlist(labSection);
+
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        try {
+            new CatalogSnapshot(List.of(), List.of(), List.of(), List.of(), List.of(student)).writeTo(file);
+            Section restored = CatalogSnapshot.readFrom(file).getStudents().get(0).getEnrolledSections().iterator().next();
+
+            assertEquals(lab, restored.getSchedule());
+            assertFalse(restored.getRoom().isFree(Schedule.of(Schedule.Days.TF, Schedule.Period.H1430_1600)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testFailedWriteRemovesTemporaryFile() throws Exception {
+        // writeUTF cannot encode a string this long, so writing fails partway through the file
+        Section section = new Section("S".repeat(70_000), new Subject("GEO101", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H1600_1730), new Room("G101", 20), new Instructor("Dr. Mercator"));
+        Path directory = Files.createTempDirectory("catalog");
+        Path file = directory.resolve("catalog.snapshot");
+        try {
+            assertThrows(IOException.class, () -> new CatalogSnapshot(List.of(), List.of(), List.of(), List.of(section),
+                    List.of()).writeTo(file));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory.resolve("catalog.snapshot.tmp"));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = Files.createTempFile("catalog", ".snapshot");
+        try {
+            Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+            assertThrows(IOException.class, () -> CatalogSnapshot.readFrom(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+import com.orangeandbronze.exceptions.*;
+
+class ClassListExporterTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("classlists");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testCsvExportListsEveryRosterEntry() throws IOException, EnlistmentException {
+        List<Section> sections = sectionsWithRosters(3, 5);
+
+        long written = new ClassListExporter().export(sections, directory.resolve("classlists.csv"),
+                ClassListExporter.Format.CSV);
+
+        List<String> lines = Files.readAllLines(directory.resolve("classlists.csv"));
+        assertEquals(15, written);
+        assertEquals("sectionId,studentNumber", lines.get(0));
+        assertEquals(16, lines.size());
+        assertTrue(lines.contains("EXPA,0"));
+        assertTrue(lines.contains("EXPC,14"));
+    }
+
+    @Test
+    void testBinaryExportSplitsLargeRostersAcrossBlocks() throws IOException, EnlistmentException {
+        List<Section> sections = sectionsWithRosters(2, 400);
+
+        new ClassListExporter(1024).export(sections, directory.resolve("classlists.bin"),
+                ClassListExporter.Format.BINARY);
+
+        Map<String, List<Integer>> classLists = ClassListExporter.readBinary(directory.resolve("classlists.bin"));
+        assertEquals(2, classLists.size());
+        assertEquals(400, classLists.get("EXPA").size());
+        assertEquals(new HashSet<>(classLists.get("EXPB")), rosterOf(sections.get(1)));
+    }
+
+    @Test
+    void testBinaryExportKeepsEmptyRosters() throws IOException, EnlistmentException {
+        List<Section> sections = sectionsWithRosters(2, 0);
+
+        long written = new ClassListExporter().export(sections, directory.resolve("classlists.bin"),
+                ClassListExporter.Format.BINARY);
+
+        Map<String, List<Integer>> classLists = ClassListExporter.readBinary(directory.resolve("classlists.bin"));
+        assertEquals(0, written);
+        assertEquals(Map.of("EXPA", List.of(), "EXPB", List.of()), classLists);
+    }
+
+    @Test
+    void testSectionIdTooLongForBufferIsRejectedUpFront() throws EnlistmentException {
+        Section section = new Section("X".repeat(1020), new Subject("EXP201", 3, false),
+                Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000), new Room("EXPROOMZ", 5),
+                new Instructor("Dr. Export Z"));
+        ClassListExporter exporter = new ClassListExporter(1024);
+
+        for (ClassListExporter.Format format : ClassListExporter.Format.values()) {
+            Path file = directory.resolve("classlists." + format);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> exporter.export(List.of(section), file, format));
+            assertTrue(e.getMessage().contains("too long"));
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    void testNonAsciiSectionIdsStayDistinct() throws IOException, EnlistmentException {
+        Schedule schedule = Schedule.of(Schedule.Days.WS, Schedule.Period.H1000_1130);
+        Section first = new Section("ÑSEC1", new Subject("EXP301", 3, false), schedule, new Room("EXPROOMN", 5),
+                new Instructor("Dr. Export N"));
+        Section second = new Section("ÕSEC1", new Subject("EXP302", 3, false), schedule, new Room("EXPROOMO", 5),
+                new Instructor("Dr. Export O"));
+        new Student(900).enlist(first);
+        new Student(901).enlist(second);
+
+        new ClassListExporter().export(List.of(first, second), directory.resolve("classlists.bin"),
+                ClassListExporter.Format.BINARY);
+        new ClassListExporter().export(List.of(first, second), directory.resolve("classlists.csv"),
+                ClassListExporter.Format.CSV);
+
+        assertEquals(Map.of("ÑSEC1", List.of(900), "ÕSEC1", List.of(901)),
+                ClassListExporter.readBinary(directory.resolve("classlists.bin")));
+        assertTrue(Files.readAllLines(directory.resolve("classlists.csv")).contains("ÑSEC1,900"));
+    }
+
+    @Test
+    void testSectionIdLengthIsMeasuredInEncodedBytes() throws EnlistmentException {
+        // 510 characters, but 1020 bytes in UTF-8
+        Section section = new Section("Ñ".repeat(510), new Subject("EXP303", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H1130_1300), new Room("EXPROOMW", 5),
+                new Instructor("Dr. Export W"));
+
+        assertThrows(IllegalArgumentException.class, () -> new ClassListExporter(1024).export(List.of(section),
+                directory.resolve("classlists.bin"), ClassListExporter.Format.BINARY));
+    }
+
+    private List<Section> sectionsWithRosters(int sectionCount, int studentsPerSection) throws EnlistmentException {
+        List<Section> sections = new ArrayList<>();
+        int studentNumber = 0;
+        for (int i = 0; i < sectionCount; i++) {
+            String suffix = String.valueOf((char) ('A' + i));
+            Section section = new Section("EXP" + suffix, new Subject("EXP10" + i, 3, false),
+                    Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), new Room("EXPROOM" + suffix, 500),
+                    new Instructor("Dr. Export " + suffix));
+            for (int j = 0; j < studentsPerSection; j++) {
+                new Student(studentNumber++).enlist(section);
+            }
+            sections.add(section);
+        }
+        return sections;
+    }
+
+    private static Set<Integer> rosterOf(Section section) {
+        Set<Integer> numbers = new HashSet<>();
+        section.forEachStudent(student -> numbers.add(student.getStudentNumber()));
+        return numbers;
+    }
+}
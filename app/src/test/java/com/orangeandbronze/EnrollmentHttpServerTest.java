@@ -0,0 +1,144 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+class EnrollmentHttpServerTest {
+
+    @Test
+    void testEnlistBrowseAssessAndCancel() throws Exception {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        Section math = new Section("HTTPA", new Subject("HTTP101", 3, false),
+                Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), new Room("HTTPROOM1", 1),
+                new Instructor("Dr. Http A"));
+        Section lab = new Section("HTTPB", new Subject("HTTP102", 3, true),
+                Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000), new Room("HTTPROOM2", 10),
+                new Instructor("Dr. Http B"));
+        registry.register(math);
+        registry.register(lab);
+        registry.register(new Student(1));
+        registry.register(new Student(2));
+        EnrollmentHttpServer server = new EnrollmentHttpServer(registry, SectionIndex.of(registry),
+                new InetSocketAddress("localhost", 0));
+        server.start();
+        try {
+            String base = "http://localhost:" + server.getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> cart = post(client, base + "/students/1/cart?sections=HTTPA,HTTPB");
+            assertEquals(200, cart.statusCode());
+            assertEquals("[{\"section\":\"HTTPA\",\"status\":\"ENLISTED\"},{\"section\":\"HTTPB\",\"status\":\"ENLISTED\"}]",
+                    cart.body());
+
+            HttpResponse<String> full = post(client, base + "/students/2/enlist?section=HTTPA");
+            assertTrue(full.body().contains("\"rejection\":\"CAPACITY_REACHED\""));
+
+            HttpResponse<String> browse = get(client, base + "/sections?subject=HTTP101");
+            assertEquals("[]", browse.body());
+
+            HttpResponse<String> assessment = get(client, base + "/students/1/assessment");
+            assertEquals("{\"student\":1,\"units\":6,\"labSubjects\":1,\"total\":21017.20}", assessment.body());
+
+            assertEquals(200, post(client, base + "/students/1/cancel?section=HTTPA").statusCode());
+            assertEquals(409, post(client, base + "/students/1/cancel?section=HTTPA").statusCode());
+            assertTrue(get(client, base + "/sections?subject=HTTP101").body().contains("\"seatsLeft\":1"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testBadRequestsGetClientErrors() throws Exception {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        registry.register(new Student(3));
+        EnrollmentHttpServer server = new EnrollmentHttpServer(registry, new SectionIndex(),
+                new InetSocketAddress("localhost", 0));
+        server.start();
+        try {
+            String base = "http://localhost:" + server.getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            assertEquals(404, post(client, base + "/students/99/enlist?section=X").statusCode());
+            assertEquals(404, post(client, base + "/students/3/enlist?section=NOSUCH").statusCode());
+            assertEquals(404, post(client, base + "/students/3/cart?sections=NOSUCH").statusCode());
+            assertEquals(400, post(client, base + "/students/3/enlist").statusCode());
+            assertEquals(400, post(client, base + "/students/abc/enlist?section=X").statusCode());
+            assertEquals(405, get(client, base + "/students/3/enlist?section=X").statusCode());
+            assertEquals(404, get(client, base + "/sections?subject=NOSUCH").statusCode());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testUnexpectedFailuresGetServerErrors() throws Exception {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        Section section = new Section("HTTPC", new Subject("HTTP201", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H0830_1000), new Room("HTTPROOM3", 5),
+                new Instructor("Dr. Http C"));
+        registry.register(section);
+        registry.register(new Student(4));
+        EnrollmentHttpServer server = new EnrollmentHttpServer(registry, SectionIndex.of(registry),
+                new InetSocketAddress("localhost", 0));
+        server.start();
+        List<LogRecord> logged = new CopyOnWriteArrayList<>();
+        Handler capture = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(EnrollmentHttpServer.class.getName());
+        logger.addHandler(capture);
+        // An engine-owned section refuses direct writes with an IllegalStateException
+        try (PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(1)) {
+            assertTrue(engine.enlist(new Student(5), section).get().isEnlisted());
+            String base = "http://localhost:" + server.getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> failed = post(client, base + "/students/4/enlist?section=HTTPC");
+            assertEquals(500, failed.statusCode());
+            assertEquals("{\"error\":\"Internal error\"}", failed.body());
+            assertEquals(1, logged.size());
+            assertInstanceOf(IllegalStateException.class, logged.get(0).getThrown());
+        } finally {
+            logger.removeHandler(capture);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testStringsAreEscaped() {
+        StringBuilder json = new StringBuilder();
+        EnrollmentHttpServer.appendString(json, "a\"b\\c\n");
+
+        assertEquals("\"a\\\"b\\\\c\\n\"", json.toString());
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,198 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+import com.orangeandbronze.exceptions.*;
+
+class EnrollmentJournalTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Student.setListener(null);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /** A freshly built catalog, standing in for the state a restarted JVM starts from. */
+    private static class Catalog {
+        final Subject math = new Subject("MATH101", 3, false);
+        final Subject physics = new Subject("PHYS101", 4, false);
+        final Section mathSection;
+        final Section physicsSection;
+        final Map<Integer, Student> students = new HashMap<>();
+
+        Catalog() throws ScheduleConflictException {
+            Instructor instructor = new Instructor("Dr. Smith");
+            Room room = new Room("A101", 30);
+            mathSection = new Section("MATH101A", math, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), room, instructor);
+            physicsSection = new Section("PHYS101A", physics, Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000), room, instructor);
+        }
+
+        Student student(int studentNumber) {
+            return students.computeIfAbsent(studentNumber, Student::new);
+        }
+
+        long replay(Path directory) throws IOException {
+            Map<String, Section> sections = Map.of(mathSection.getSectionId(), mathSection,
+                    physicsSection.getSectionId(), physicsSection);
+            Map<String, Subject> subjects = Map.of(math.getSubjectId(), math, physics.getSubjectId(), physics);
+            return EnrollmentJournal.replay(directory, this::student, sections::get, subjects::get);
+        }
+    }
+
+    @Test
+    void testFailedAppendLeavesStateUnchanged() throws Exception {
+        Catalog catalog = new Catalog();
+        Student student = catalog.student(1);
+        EnrollmentJournal journal = new EnrollmentJournal(directory, 1 << 20, 10);
+        Student.setListener(journal);
+        student.enlist(catalog.physicsSection);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> student.enlist(catalog.mathSection));
+        assertThrows(IllegalStateException.class, () -> student.enlistAll(List.of(catalog.mathSection)));
+        assertThrows(IllegalStateException.class, () -> student.cancel(catalog.physicsSection));
+
+        assertEquals(Set.of(catalog.physicsSection), student.getEnrolledSections());
+        assertEquals(0, catalog.mathSection.getEnrollmentCount());
+        assertTrue(catalog.mathSection.getEnrolledStudents().isEmpty());
+        assertEquals(1, catalog.physicsSection.getEnrollmentCount());
+        assertEquals(4, student.assess(FeeSchedule.DEFAULT).getUnits());
+    }
+
+    @Test
+    void testReplayRestoresEnrollments() throws Exception {
+        Catalog before = new Catalog();
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 1 << 20, 10)) {
+            Student.setListener(journal);
+            before.student(1).completeSubject(before.physics);
+            before.student(1).enlist(before.mathSection);
+            before.student(2).enlist(before.mathSection);
+            before.student(2).enlist(before.physicsSection);
+            before.student(2).cancel(before.mathSection);
+            journal.sync();
+            assertEquals(5, journal.getAppendedCount());
+        }
+        Student.setListener(null);
+
+        Catalog after = new Catalog();
+        assertEquals(5, after.replay(directory));
+
+        assertEquals(Set.of(after.mathSection), after.student(1).getEnrolledSections());
+        assertEquals(Set.of(after.physics), after.student(1).getCompletedSubjects());
+        assertEquals(Set.of(after.physicsSection), after.student(2).getEnrolledSections());
+        assertEquals(1, after.mathSection.getEnrollmentCount());
+        assertEquals(1, after.physicsSection.getEnrollmentCount());
+    }
+
+    @Test
+    void testSegmentRollover() throws Exception {
+        Catalog before = new Catalog();
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 1024, 10)) {
+            Student.setListener(journal);
+            for (int i = 0; i < 200; i++) {
+                before.student(i).enlist(before.mathSection);
+                before.student(i).cancel(before.mathSection);
+            }
+        }
+        Student.setListener(null);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        Catalog after = new Catalog();
+        assertEquals(400, after.replay(directory));
+        assertEquals(0, after.mathSection.getEnrollmentCount());
+    }
+
+    @Test
+    void testTornRecordIsDroppedAndAppendingResumes() throws Exception {
+        Catalog before = new Catalog();
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096, 10)) {
+            Student.setListener(journal);
+            before.student(1).enlist(before.mathSection);
+            before.student(2).enlist(before.mathSection);
+        }
+        Student.setListener(null);
+
+        // Corrupt the last byte of the second record's checksum, as a crash mid-write would
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int recordLength = 1 + 4 + 2 + "MATH101A".length() + 4;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), 2L * recordLength - 1);
+        }
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096, 10)) {
+            Student.setListener(journal);
+            before.student(3).enlist(before.physicsSection);
+        }
+        Student.setListener(null);
+
+        Catalog after = new Catalog();
+        assertEquals(2, after.replay(directory));
+        assertEquals(Set.of(after.mathSection), after.student(1).getEnrolledSections());
+        assertTrue(after.student(2).getEnrolledSections().isEmpty());
+        assertEquals(Set.of(after.physicsSection), after.student(3).getEnrolledSections());
+    }
+
+    @Test
+    void testTornCartRestoresNoneOfIt() throws Exception {
+        Catalog before = new Catalog();
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096, 10)) {
+            Student.setListener(journal);
+            before.student(1).enlistAll(List.of(before.mathSection, before.physicsSection));
+            assertEquals(1, journal.getAppendedCount());
+        }
+        Student.setListener(null);
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int recordLength = 1 + 4 + 2 + "MATH101A,PHYS101A".length() + 4;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), recordLength - 1);
+        }
+
+        Catalog after = new Catalog();
+        assertEquals(0, after.replay(directory));
+        assertTrue(after.student(1).getEnrolledSections().isEmpty());
+        assertEquals(0, after.mathSection.getEnrollmentCount());
+    }
+
+    @Test
+    void testReplayRejectsUnknownStudent() throws Exception {
+        Catalog before = new Catalog();
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096, 10)) {
+            Student.setListener(journal);
+            before.student(1).enlist(before.mathSection);
+        }
+        Student.setListener(null);
+
+        Catalog after = new Catalog();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> EnrollmentJournal.replay(directory,
+                number -> null, id -> after.mathSection, id -> after.math));
+        assertEquals("Journal refers to unknown student 1", e.getMessage());
+    }
+}
@@ -0,0 +1,73 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import javax.management.*;
+import com.orangeandbronze.exceptions.*;
+
+class EnrollmentMetricsTest {
+
+    @Test
+    void testRecordsOutcomesAndLatencies() throws EnlistmentException, ScheduleConflictException {
+        EnrollmentMetrics metrics = new EnrollmentMetrics();
+        Subject subject = new Subject("MET101", 3, false);
+        Section section = new Section("META", subject, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000),
+                new Room("METROOM1", 1), new Instructor("Dr. Metrics A"));
+        Student first = new Student(1);
+        Student second = new Student(2);
+        Student.setMetrics(metrics);
+        try {
+            first.tryEnlist(section);
+            first.tryEnlist(section);
+            second.enlistOrWaitlist(section);
+            first.requestAssessment();
+            first.cancel(section);
+        } finally {
+            Student.setMetrics(null);
+        }
+
+        // The second student is promoted from the waitlist when the first cancels
+        assertEquals(2, metrics.getEnlistedCount());
+        assertEquals(1, metrics.getWaitlistedCount());
+        assertEquals(1, metrics.getRejectedCount(EnlistmentResult.Rejection.ALREADY_ENROLLED));
+        assertEquals(1, metrics.getRejectedCount(EnlistmentResult.Rejection.CAPACITY_REACHED));
+        assertEquals(4, metrics.getEnlistLatency().getCount());
+        assertEquals(1, metrics.getCancelLatency().getCount());
+        assertEquals(1, metrics.getAssessmentLatency().getCount());
+    }
+
+    @Test
+    void testNothingIsRecordedWhenUninstalled() throws EnlistmentException, ScheduleConflictException {
+        EnrollmentMetrics metrics = new EnrollmentMetrics();
+        Section section = new Section("METB", new Subject("MET102", 3, false),
+                Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000), new Room("METROOM2", 5),
+                new Instructor("Dr. Metrics B"));
+
+        new Student(3).enlist(section);
+
+        assertEquals(0, metrics.getEnlistedCount());
+        assertEquals(0, metrics.getEnlistLatency().getCount());
+    }
+
+    @Test
+    void testMBeansExposeCountersAndFillRate() throws JMException, EnlistmentException, ScheduleConflictException {
+        EnrollmentMetrics metrics = new EnrollmentMetrics();
+        Section section = new Section("METC", new Subject("MET103", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H0830_1000), new Room("METROOM3", 4),
+                new Instructor("Dr. Metrics C"));
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ObjectName enlistment = metrics.registerMBean(server);
+        ObjectName gauges = EnrollmentMetrics.registerSectionMBean(server, section);
+
+        metrics.recordEnlistment(EnlistmentResult.enlisted(section), 1_000);
+        new Student(4).enlist(section);
+
+        assertEquals(1L, server.getAttribute(enlistment, "EnlistedCount"));
+        assertEquals(0L, server.getAttribute(enlistment, "RejectedScheduleConflictCount"));
+        assertEquals(1L, server.getAttribute(enlistment, "EnlistCount"));
+        assertEquals(1, server.getAttribute(gauges, "EnrollmentCount"));
+        assertEquals(0.25, (Double) server.getAttribute(gauges, "FillRate"), 1e-9);
+        assertThrows(AttributeNotFoundException.class, () -> server.getAttribute(gauges, "Missing"));
+    }
+}
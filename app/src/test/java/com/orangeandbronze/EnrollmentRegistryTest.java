@@ -0,0 +1,87 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import com.orangeandbronze.exceptions.ScheduleConflictException;
+
+class EnrollmentRegistryTest {
+
+    @Test
+    void testRegisterSectionRegistersItsParts() throws ScheduleConflictException {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        Subject prerequisite = new Subject("REG100", 3, false);
+        Subject subject = new Subject("REG101", 3, false);
+        subject.addPrerequisite(prerequisite);
+        Room room = new Room("REGROOM1", 30);
+        Instructor instructor = new Instructor("Dr. Registry");
+        Section section = new Section("REGSEC1", subject, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), room, instructor);
+
+        registry.register(section);
+
+        assertSame(section, registry.getSection("REGSEC1"));
+        assertSame(section, registry.sectionAt(section.getOrdinal()));
+        assertSame(subject, registry.getSubject("REG101"));
+        assertSame(prerequisite, registry.getSubject("REG100"));
+        assertSame(room, registry.getRoom("REGROOM1"));
+        assertSame(instructor, registry.getInstructor("Dr. Registry"));
+        assertEquals(1, registry.getSectionCount());
+        assertEquals(2, registry.getSubjectCount());
+        assertNull(registry.getSection("NOSUCHSECTION"));
+    }
+
+    @Test
+    void testSharedPrerequisitesAreRegisteredOnce() {
+        // Every subject requires both of the layer below, so there are 2^40 paths from the top
+        Subject[] below = { new Subject("DIAMOND0A", 3, false), new Subject("DIAMOND0B", 3, false) };
+        for (int layer = 1; layer <= 40; layer++) {
+            Subject[] current = { new Subject("DIAMOND" + layer + "A", 3, false),
+                    new Subject("DIAMOND" + layer + "B", 3, false) };
+            for (Subject subject : current) {
+                subject.addPrerequisite(below[0]);
+                subject.addPrerequisite(below[1]);
+            }
+            below = current;
+        }
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+
+        registry.register(below[0]);
+
+        assertEquals(81, registry.getSubjectCount());
+    }
+
+    @Test
+    void testDifferentObjectWithSameIdIsRejected() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        registry.register(new Room("REGROOM2", 30));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.register(new Room("REGROOM2", 40)));
+    }
+
+    @Test
+    void testStudentsSurviveGrowth() {
+        EnrollmentRegistry registry = new EnrollmentRegistry(4);
+        for (int i = 0; i < 10_000; i++) {
+            registry.register(new Student(i));
+        }
+
+        assertEquals(10_000, registry.getStudentCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, registry.getStudent(i).getStudentNumber());
+        }
+        assertNull(registry.getStudent(10_000));
+        Set<Integer> seen = new HashSet<>();
+        registry.forEachStudent(student -> seen.add(student.getStudentNumber()));
+        assertEquals(10_000, seen.size());
+    }
+
+    @Test
+    void testGetOrRegisterStudentKeepsFirstInstance() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        Student student = registry.getOrRegisterStudent(42);
+
+        assertSame(student, registry.getOrRegisterStudent(42));
+        assertSame(student, registry.register(new Student(42)));
+        assertEquals(1, registry.getStudentCount());
+    }
+}
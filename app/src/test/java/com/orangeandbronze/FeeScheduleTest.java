@@ -0,0 +1,52 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+class FeeScheduleTest {
+
+    @Test
+    void testMatchesBigDecimalCalculation() {
+        for (int units = 0; units <= 30; units++) {
+            for (int labs = 0; labs <= 8; labs++) {
+                BigDecimal base = new BigDecimal("2345.67").multiply(new BigDecimal(units))
+                        .add(new BigDecimal("1234.56").multiply(new BigDecimal(labs)))
+                        .add(new BigDecimal("3456.78"));
+                BigDecimal vat = base.multiply(new BigDecimal("0.12")).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal expected = base.add(vat);
+
+                assertEquals(expected, FeeSchedule.DEFAULT.assess(units, labs));
+            }
+        }
+    }
+
+    @Test
+    void testCustomRates() {
+        FeeSchedule fees = new FeeSchedule(new BigDecimal("100"), new BigDecimal("50.5"),
+                new BigDecimal("0"), new BigDecimal("0.125"));
+
+        // Base 3 * 100 + 50.50 = 350.50; VAT 43.8125 rounds to 43.81
+        assertEquals(new BigDecimal("394.31"), fees.assess(3, 1));
+    }
+
+    @Test
+    void testInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> new FeeSchedule(new BigDecimal("1.005"),
+                BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FeeSchedule(BigDecimal.ONE,
+                new BigDecimal("-1"), BigDecimal.ONE, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FeeSchedule(BigDecimal.ONE,
+                BigDecimal.ONE, BigDecimal.ONE, new BigDecimal("-0.12")));
+    }
+
+    @Test
+    void testOverflowingTotalThrows() {
+        // A base of 5e18 centavos fits in a long, but adding its 100% VAT does not
+        FeeSchedule fees = new FeeSchedule(new BigDecimal("50000000000000000"), BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ONE);
+
+        assertThrows(ArithmeticException.class, () -> fees.totalCentavos(1, 0));
+    }
+}
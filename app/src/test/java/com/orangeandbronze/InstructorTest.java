@@ -25,7 +25,7 @@ class InstructorTest {
     void testSectionAssignment() throws ScheduleConflictException {
         Instructor instructor = new Instructor("Dr. Smith");
         Subject subject = new Subject("MATH101", 3, false);
-        Schedule schedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
         Room room = new Room("A101", 30);
         
         Section section = new Section("SEC001", subject, schedule, room, instructor);
@@ -34,4 +34,17 @@ class InstructorTest {
         assertTrue(instructor.getAssignedSections().contains(section));
         assertEquals(1, instructor.getAssignedSections().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAssignConflictingSection() throws ScheduleConflictException {
+        Instructor instructor = new Instructor("Dr. Smith");
+        Subject subject = new Subject("MATH101", 3, false);
+        Schedule schedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+
+        new Section("SEC001", subject, schedule, new Room("A101", 30), instructor);
+        Section other = new Section("SEC002", subject, schedule, new Room("B101", 30), new Instructor("Dr. Jones"));
+
+        assertThrows(IllegalArgumentException.class, () -> instructor.assignSection(other));
+        assertEquals(1, instructor.getAssignedSections().size());
+    }
+}
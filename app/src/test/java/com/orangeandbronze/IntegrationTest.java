@@ -39,9 +39,9 @@ class IntegrationTest {
         drLab = new Instructor("Dr. Lab");
 
         // Schedules
-        scheduleMTH830 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        scheduleTF830 = new Schedule(Schedule.Days.TF, Schedule.Period.H0830_1000);
-        scheduleWS1000 = new Schedule(Schedule.Days.WS, Schedule.Period.H1000_1130);
+        scheduleMTH830 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        scheduleTF830 = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        scheduleWS1000 = Schedule.of(Schedule.Days.WS, Schedule.Period.H1000_1130);
     }
 
     @Test
@@ -103,7 +103,7 @@ class IntegrationTest {
 
     @Test
     void testInstructorScheduleConflict() throws ScheduleConflictException {
-        Schedule conflictingSchedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule conflictingSchedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
         
         // First section assigned to instructor
         Section section1 = new Section("MATH101A", math101, scheduleMTH830, roomA101, drSmith);
@@ -118,7 +118,7 @@ class IntegrationTest {
 
     @Test
     void testRoomScheduleConflict() throws ScheduleConflictException {
-        Schedule conflictingSchedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule conflictingSchedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
         
         // First section assigned to room
         Section section1 = new Section("MATH101A", math101, scheduleMTH830, roomA101, drSmith);
@@ -0,0 +1,48 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.DayOfWeek;
+
+class IntervalIndexTest {
+
+    @Test
+    void testFindOverlap() {
+        IntervalIndex<String> index = new IntervalIndex<>();
+        index.add(Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), "morning");
+        index.add(Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 18 * 60, 21 * 60)), "evening");
+
+        assertEquals(3, index.size());
+        assertEquals("morning", index.findOverlap(9 * 60, 9 * 60 + 30));
+        assertEquals("evening", index.findOverlap(17 * 60, 19 * 60));
+        assertEquals("morning", index.findOverlap(3 * Schedule.MINUTES_PER_DAY, 4 * Schedule.MINUTES_PER_DAY));
+        assertNull(index.findOverlap(10 * 60, 18 * 60));
+        assertNull(index.findOverlap(Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000)));
+        assertEquals("evening", index.findOverlap(Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 20 * 60, 22 * 60))));
+    }
+
+    @Test
+    void testRejectsOverlappingAdd() {
+        IntervalIndex<String> index = new IntervalIndex<>();
+        index.add(Schedule.of(new Schedule.Meeting(DayOfWeek.FRIDAY, 13 * 60, 16 * 60)), "lab");
+
+        assertThrows(IllegalArgumentException.class, () -> index.add(Schedule.of(Schedule.Days.TF, Schedule.Period.H1430_1600), "class"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        IntervalIndex<String> index = new IntervalIndex<>();
+        Schedule lab = Schedule.of(Schedule.Days.WS, Schedule.Period.H1300_1430);
+        for (int day = 0; day < 5; day++) {
+            index.add(Schedule.of(new Schedule.Meeting(DayOfWeek.of(day + 1), 7 * 60, 8 * 60)), "early" + day);
+        }
+        index.add(lab, "lab");
+
+        assertFalse(index.remove(lab, "other"));
+        assertTrue(index.remove(lab, "lab"));
+        assertNull(index.findOverlap(lab));
+        assertEquals(5, index.size());
+        assertEquals("early2", index.findOverlap(2 * Schedule.MINUTES_PER_DAY + 7 * 60, 2 * Schedule.MINUTES_PER_DAY + 7 * 60 + 1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalSetTest {
+
+    @Test
+    void testAddContainsRemove() {
+        OrdinalSet set = new OrdinalSet();
+        set.add(3);
+        set.add(130);
+
+        assertTrue(set.contains(3));
+        assertTrue(set.contains(130));
+        assertFalse(set.contains(64));
+        assertEquals(2, set.size());
+
+        set.remove(3);
+        assertFalse(set.contains(3));
+        assertEquals(130, set.nextOrdinal(0));
+    }
+
+    @Test
+    void testContainsAll() {
+        OrdinalSet completed = new OrdinalSet();
+        completed.add(1);
+        completed.add(70);
+        OrdinalSet required = new OrdinalSet();
+        required.add(70);
+
+        assertTrue(completed.containsAll(required));
+        assertTrue(completed.containsAll(new OrdinalSet()));
+
+        required.add(200);
+        assertFalse(completed.containsAll(required));
+        assertEquals(200, completed.firstMissing(required));
+    }
+
+    @Test
+    void testRemoveAllAndClear() {
+        OrdinalSet set = new OrdinalSet();
+        set.add(1);
+        set.add(70);
+        set.add(200);
+        OrdinalSet removed = new OrdinalSet();
+        removed.add(70);
+
+        set.removeAll(removed);
+
+        assertEquals(2, set.size());
+        assertFalse(set.contains(70));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import com.orangeandbronze.exceptions.*;
+
+class PartitionedEnrollmentEngineTest {
+
+    @Test
+    void testConcurrentEnlistmentsNeverOverbook() throws Exception {
+        Section section = new Section("PARTA", new Subject("PART101", 3, false),
+                Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), new Room("PARTROOM1", 10),
+                new Instructor("Dr. Partition A"));
+        List<CompletableFuture<EnlistmentResult>> results = new ArrayList<>();
+        try (PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(4)) {
+            for (int i = 0; i < 100; i++) {
+                results.add(engine.enlist(new Student(i), section));
+            }
+            long enlisted = 0;
+            for (CompletableFuture<EnlistmentResult> result : results) {
+                if (result.get().isEnlisted()) {
+                    enlisted++;
+                }
+            }
+            assertEquals(10, enlisted);
+        }
+        assertEquals(10, section.getEnrollmentCount());
+        assertEquals(10, section.getEnrolledStudents().size());
+    }
+
+    @Test
+    void testCrossPartitionCartIsAllOrNothing() throws Exception {
+        Schedule morning = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        Section first = new Section("PARTB", new Subject("PART201", 3, false), morning,
+                new Room("PARTROOM2", 5), new Instructor("Dr. Partition B"));
+        Section clashing = new Section("PARTC", new Subject("PART202", 3, false), morning,
+                new Room("PARTROOM3", 5), new Instructor("Dr. Partition C"));
+        Section fitting = new Section("PARTD", new Subject("PART203", 3, false),
+                Schedule.of(Schedule.Days.TF, Schedule.Period.H1000_1130), new Room("PARTROOM4", 5),
+                new Instructor("Dr. Partition D"));
+        assertNotEquals(first.getOrdinal() % 2, clashing.getOrdinal() % 2);
+        Student student = new Student(1000);
+
+        try (PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(2)) {
+            List<EnlistmentResult> rejected = engine.enlistAll(student, List.of(first, clashing)).get();
+
+            assertEquals(EnlistmentResult.Status.ABORTED, rejected.get(0).getStatus());
+            assertEquals(EnlistmentResult.Rejection.SCHEDULE_CONFLICT, rejected.get(1).getRejection());
+
+            List<EnlistmentResult> accepted = engine.enlistAll(student, List.of(first, fitting)).get();
+
+            assertTrue(accepted.get(0).isEnlisted());
+            assertTrue(accepted.get(1).isEnlisted());
+        }
+        assertEquals(1, first.getEnrollmentCount());
+        assertEquals(0, clashing.getEnrollmentCount());
+        assertEquals(1, fitting.getEnrollmentCount());
+        assertEquals(Set.of(first, fitting), student.getEnrolledSections());
+    }
+
+    @Test
+    void testCancelPromotesWaitlistedStudent() throws Exception {
+        Section section = new Section("PARTE", new Subject("PART301", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H0830_1000), new Room("PARTROOM5", 1),
+                new Instructor("Dr. Partition E"));
+        Student holder = new Student(2000);
+        Student waiting = new Student(2001);
+
+        try (PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(3)) {
+            assertTrue(engine.enlist(holder, section).get().isEnlisted());
+            assertEquals(EnlistmentResult.Status.WAITLISTED, engine.enlistOrWaitlist(waiting, section).get().getStatus());
+
+            engine.cancel(holder, section).get();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> engine.cancel(holder, section).get());
+            assertInstanceOf(EnlistmentException.class, failure.getCause());
+        }
+        assertEquals(Set.of(section), waiting.getEnrolledSections());
+    }
+
+    @Test
+    void testClosedEngineRejectsWork() throws Exception {
+        Section section = new Section("PARTF", new Subject("PART401", 3, false),
+                Schedule.of(Schedule.Days.MTH, Schedule.Period.H1600_1730), new Room("PARTROOM6", 1),
+                new Instructor("Dr. Partition F"));
+        PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(1);
+        engine.close();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> engine.enlist(new Student(3000), section).get());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void testOwnedSectionRejectsDirectWrites() throws Exception {
+        Section section = new Section("PARTG", new Subject("PART501", 3, false),
+                Schedule.of(Schedule.Days.WS, Schedule.Period.H1600_1730), new Room("PARTROOM7", 5),
+                new Instructor("Dr. Partition G"));
+        Student student = new Student(4000);
+
+        try (PartitionedEnrollmentEngine engine = new PartitionedEnrollmentEngine(2)) {
+            assertTrue(engine.enlist(new Student(4001), section).get().isEnlisted());
+
+            assertThrows(IllegalStateException.class, () -> student.enlist(section));
+            assertEquals(1, section.getEnrollmentCount());
+            assertTrue(student.getEnrolledSections().isEmpty());
+        }
+        student.enlist(section);
+        assertEquals(2, section.getEnrollmentCount());
+    }
+}
@@ -2,6 +2,8 @@ package com.orangeandbronze;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.DayOfWeek;
+import com.orangeandbronze.exceptions.ScheduleConflictException;
 
 class RoomTest {
 
@@ -27,4 +29,47 @@ class RoomTest {
         assertThrows(IllegalArgumentException.class, 
             () -> new Room("A101", -1));
     }
+
+    @Test
+    void testSectionCreationClaimsSlot() throws ScheduleConflictException {
+        Room room = new Room("A101", 30);
+        Schedule schedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+
+        Section section = new Section("SEC001", new Subject("MATH101", 3, false), schedule, room, new Instructor("Dr. Smith"));
+
+        assertTrue(room.getAssignedSections().contains(section));
+        assertSame(section, room.getSectionAt(schedule));
+        assertFalse(room.isFree(schedule));
+        assertEquals(Schedule.SLOT_COUNT - 1, room.getFreeSchedules().size());
+        assertFalse(room.getFreeSchedules().contains(schedule));
+
+        room.removeSection(section);
+        assertTrue(room.isFree(schedule));
+        assertEquals(Schedule.SLOT_COUNT, room.getFreeSchedules().size());
+    }
+
+    @Test
+    void testFreeFormSectionsShareRoomWithSlots() throws ScheduleConflictException {
+        Room room = new Room("LAB1", 30);
+        Subject lab = new Subject("CHEM101L", 1, true);
+        Schedule morning = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule afternoonLab = Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 13 * 60, 16 * 60));
+        Schedule eveningLab = Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 18 * 60, 21 * 60));
+
+        new Section("LABSEC1", lab, morning, room, new Instructor("Dr. Lab One"));
+        Section afternoon = new Section("LABSEC2", lab, afternoonLab, room, new Instructor("Dr. Lab Two"));
+        Section evening = new Section("LABSEC3", lab, eveningLab, room, new Instructor("Dr. Lab Three"));
+
+        assertThrows(ScheduleConflictException.class, () -> new Section("LABSEC4", lab,
+                Schedule.of(Schedule.Days.MTH, Schedule.Period.H1430_1600), room, new Instructor("Dr. Lab Four")));
+        assertThrows(ScheduleConflictException.class, () -> new Section("LABSEC5", lab,
+                Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 20 * 60, 22 * 60)), room, new Instructor("Dr. Lab Five")));
+        assertSame(afternoon, room.getSectionAt(Schedule.of(Schedule.Days.MTH, Schedule.Period.H1300_1430)));
+        assertSame(evening, room.getSectionAt(Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 19 * 60, 20 * 60))));
+        assertEquals(Schedule.SLOT_COUNT - 3, room.getFreeSchedules().size());
+
+        room.removeSection(afternoon);
+        assertTrue(room.isFree(Schedule.of(Schedule.Days.MTH, Schedule.Period.H1430_1600)));
+        assertEquals(Schedule.SLOT_COUNT - 1, room.getFreeSchedules().size());
+    }
 }
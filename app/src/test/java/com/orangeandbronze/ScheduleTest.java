@@ -2,12 +2,14 @@ package com.orangeandbronze;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 
 class ScheduleTest {
 
     @Test
     void testScheduleCreation() {
-        Schedule schedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
         
         assertEquals(Schedule.Days.MTH, schedule.getDays());
         assertEquals(Schedule.Period.H0830_1000, schedule.getPeriod());
@@ -15,10 +17,10 @@ class ScheduleTest {
 
     @Test
     void testScheduleConflict() {
-        Schedule schedule1 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        Schedule schedule2 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        Schedule schedule3 = new Schedule(Schedule.Days.TF, Schedule.Period.H0830_1000);
-        Schedule schedule4 = new Schedule(Schedule.Days.MTH, Schedule.Period.H1000_1130);
+        Schedule schedule1 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule2 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule3 = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        Schedule schedule4 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H1000_1130);
         
         assertTrue(schedule1.conflictsWith(schedule2));
         assertFalse(schedule1.conflictsWith(schedule3));
@@ -27,9 +29,9 @@ class ScheduleTest {
 
     @Test
     void testScheduleEquality() {
-        Schedule schedule1 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        Schedule schedule2 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        Schedule schedule3 = new Schedule(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        Schedule schedule1 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule2 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule schedule3 = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
         
         assertEquals(schedule1, schedule2);
         assertNotEquals(schedule1, schedule3);
@@ -40,4 +42,79 @@ class ScheduleTest {
         assertEquals("8:30am-10am", Schedule.Period.H0830_1000.getTimeRange());
         assertEquals("10am-11:30am", Schedule.Period.H1000_1130.getTimeRange());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSlotsAreDistinct() {
+        int allSlots = 0;
+        for (Schedule.Days days : Schedule.Days.values()) {
+            for (Schedule.Period period : Schedule.Period.values()) {
+                Schedule schedule = Schedule.of(days, period);
+                assertEquals(0, allSlots & schedule.getSlotMask());
+                allSlots |= schedule.getSlotMask();
+            }
+        }
+        assertEquals(Schedule.SLOT_COUNT, Integer.bitCount(allSlots));
+    }
+
+    @Test
+    void testSchedulesAreCanonical() {
+        Schedule schedule = Schedule.of(Schedule.Days.WS, Schedule.Period.H1430_1600);
+
+        assertSame(schedule, Schedule.of(Schedule.Days.WS, Schedule.Period.H1430_1600));
+        assertSame(schedule, Schedule.forSlot(schedule.getSlot()));
+        assertEquals(schedule.getSlot(), schedule.hashCode());
+        assertThrows(IllegalArgumentException.class, () -> Schedule.forSlot(Schedule.SLOT_COUNT));
+    }
+
+    @Test
+    void testFreeFormConflicts() {
+        Schedule lab = Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(16, 0)));
+        Schedule evening = Schedule.of(new Schedule.Meeting(DayOfWeek.WEDNESDAY, LocalTime.of(18, 0), LocalTime.of(21, 0)));
+
+        assertFalse(lab.isSlotted());
+        assertEquals(-1, lab.getSlot());
+        assertTrue(lab.conflictsWith(Schedule.of(Schedule.Days.MTH, Schedule.Period.H1300_1430)));
+        assertTrue(Schedule.of(Schedule.Days.MTH, Schedule.Period.H1430_1600).conflictsWith(lab));
+        assertFalse(lab.conflictsWith(Schedule.of(Schedule.Days.MTH, Schedule.Period.H1130_1300)));
+        assertFalse(lab.conflictsWith(Schedule.of(Schedule.Days.TF, Schedule.Period.H1300_1430)));
+        assertEquals(2, Integer.bitCount(lab.getSlotMask()));
+
+        assertEquals(0, evening.getSlotMask());
+        assertTrue(evening.conflictsWith(Schedule.of(new Schedule.Meeting(DayOfWeek.WEDNESDAY, 19 * 60, 20 * 60))));
+        assertFalse(evening.conflictsWith(Schedule.of(new Schedule.Meeting(DayOfWeek.WEDNESDAY, 21 * 60, 22 * 60))));
+        assertFalse(evening.conflictsWith(lab));
+    }
+
+    @Test
+    void testMeetingsMatchingSlotAreCanonical() {
+        Schedule schedule = Schedule.of(new Schedule.Meeting(DayOfWeek.THURSDAY, LocalTime.of(8, 30), LocalTime.of(10, 0)),
+                new Schedule.Meeting(DayOfWeek.MONDAY, LocalTime.of(8, 30), LocalTime.of(10, 0)));
+
+        assertSame(Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000), schedule);
+        assertEquals(2, schedule.getMeetingCount());
+        assertEquals(510, schedule.getMeetingStart(0));
+        assertEquals(3 * Schedule.MINUTES_PER_DAY + 600, schedule.getMeetingEnd(1));
+    }
+
+    @Test
+    void testFreeFormEqualityAndDisplay() {
+        Schedule lab = Schedule.of(new Schedule.Meeting(DayOfWeek.FRIDAY, 13 * 60, 16 * 60),
+                new Schedule.Meeting(DayOfWeek.TUESDAY, 13 * 60, 16 * 60));
+        Schedule same = Schedule.of(new Schedule.Meeting(DayOfWeek.TUESDAY, 13 * 60, 16 * 60),
+                new Schedule.Meeting(DayOfWeek.FRIDAY, 13 * 60, 16 * 60));
+
+        assertEquals(lab, same);
+        assertEquals(lab.hashCode(), same.hashCode());
+        assertEquals("Tue 1pm-4pm, Fri 1pm-4pm", lab.toString());
+        assertEquals("Sat 6:30pm-9pm", Schedule.of(new Schedule.Meeting(DayOfWeek.SATURDAY, 18 * 60 + 30, 21 * 60)).toString());
+    }
+
+    @Test
+    void testInvalidMeetings() {
+        assertThrows(IllegalArgumentException.class, () -> new Schedule.Meeting(DayOfWeek.MONDAY, 600, 600));
+        assertThrows(IllegalArgumentException.class, () -> new Schedule.Meeting(DayOfWeek.MONDAY, 600, 24 * 60 + 1));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.of(new Schedule.Meeting[0]));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 600, 700),
+                new Schedule.Meeting(DayOfWeek.MONDAY, 650, 750)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import com.orangeandbronze.exceptions.*;
+
+class SectionIndexTest {
+
+    @Test
+    void testFindOpenSectionsSkipsOccupiedSlots() throws EnlistmentException, ScheduleConflictException {
+        Subject math = new Subject("IDX101", 3, false);
+        Subject physics = new Subject("IDX102", 3, false);
+        Instructor instructor = new Instructor("Dr. Index");
+        Schedule morning = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule noon = Schedule.of(Schedule.Days.MTH, Schedule.Period.H1000_1130);
+        Section mathMorning = new Section("IDXA", math, morning, new Room("IDXROOM1", 30), instructor);
+        Section mathNoon = new Section("IDXB", math, noon, new Room("IDXROOM2", 30), instructor);
+        Section physicsMorning = new Section("IDXC", physics, morning, new Room("IDXROOM3", 30), new Instructor("Dr. Other"));
+        SectionIndex index = SectionIndex.of(List.of(mathMorning, mathNoon, physicsMorning));
+        Student student = new Student(1);
+
+        assertEquals(List.of(mathMorning, mathNoon), index.findOpenSections(math, student));
+
+        student.enlist(physicsMorning);
+
+        assertEquals(List.of(mathNoon), index.findOpenSections(math, student));
+        assertEquals(noon.getSlotMask() | morning.getSlotMask(), index.getOpenSlotMask(math));
+        assertEquals(Set.of(mathMorning, physicsMorning), new HashSet<>(index.findOpenSectionsAt(morning)));
+    }
+
+    @Test
+    void testFullSectionsDropOut() throws EnlistmentException, ScheduleConflictException {
+        Subject subject = new Subject("IDX201", 3, false);
+        Schedule schedule = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        Section section = new Section("IDXD", subject, schedule, new Room("IDXROOM4", 1), new Instructor("Dr. Full"));
+        SectionIndex index = SectionIndex.of(List.of(section));
+
+        new Student(2).enlist(section);
+
+        assertTrue(index.findOpenSections(subject, 0).isEmpty());
+        assertEquals(0, index.getOpenSlotMask(subject));
+        assertTrue(index.findOpenSectionsAt(schedule).isEmpty());
+        assertEquals(0, section.getAvailableSeats());
+        assertEquals(List.of(section), index.getSections(subject));
+    }
+
+    @Test
+    void testUnknownSubjectHasNoSections() {
+        SectionIndex index = new SectionIndex();
+
+        assertTrue(index.findOpenSections(new Subject("IDX301", 3, false), 0).isEmpty());
+    }
+
+    @Test
+    void testFindEligibleOpenSections() throws ScheduleConflictException {
+        Subject basic = new Subject("IDX401", 3, false);
+        Subject advanced = new Subject("IDX402", 3, false);
+        advanced.addPrerequisite(basic);
+        Section basicSection = new Section("IDXE", basic, Schedule.of(Schedule.Days.WS, Schedule.Period.H1300_1430),
+                new Room("IDXROOM5", 30), new Instructor("Dr. Eligible A"));
+        Section advancedSection = new Section("IDXF", advanced, Schedule.of(Schedule.Days.WS, Schedule.Period.H1430_1600),
+                new Room("IDXROOM6", 30), new Instructor("Dr. Eligible B"));
+        SectionIndex index = SectionIndex.of(List.of(basicSection, advancedSection));
+        Student student = new Student(3);
+
+        assertEquals(List.of(basicSection), index.findEligibleOpenSections(student));
+
+        student.completeSubject(basic);
+
+        assertEquals(List.of(advancedSection), index.findEligibleOpenSections(student));
+    }
+
+}
@@ -3,6 +3,9 @@ package com.orangeandbronze;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.orangeandbronze.exceptions.*;
 
 class SectionTest {
@@ -14,7 +17,7 @@ class SectionTest {
     @BeforeEach
     void setUp() {
         subject = new Subject("MATH101", 3, false);
-        schedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        schedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
         room = new Room("A101", 30);
         instructor = new Instructor("Dr. Smith");
     }
@@ -39,8 +42,8 @@ class SectionTest {
 
     @Test
     void testScheduleConflictDetection() throws ScheduleConflictException {
-        Schedule sameSchedule = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        Schedule differentSchedule = new Schedule(Schedule.Days.TF, Schedule.Period.H0830_1000);
+        Schedule sameSchedule = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        Schedule differentSchedule = Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000);
         
         Section section1 = new Section("SEC001", subject, schedule, room, instructor);
         Section section2 = new Section("SEC002", subject, sameSchedule, new Room("B101", 25), new Instructor("Dr. Jones"));
@@ -50,6 +53,17 @@ class SectionTest {
         assertFalse(section1.hasScheduleConflict(section3));
     }
 
+    @Test
+    void testInstructorConflictReleasesRoomSlot() throws ScheduleConflictException {
+        new Section("SEC001", subject, schedule, room, instructor);
+        Room otherRoom = new Room("B101", 25);
+
+        assertThrows(ScheduleConflictException.class,
+            () -> new Section("SEC002", subject, schedule, otherRoom, instructor));
+        assertTrue(otherRoom.isFree(schedule));
+        assertTrue(otherRoom.getAssignedSections().isEmpty());
+    }
+
     @Test
     void testCapacityCheck() throws EnlistmentException {
         Room smallRoom = new Room("SMALL1", 2);
@@ -68,4 +82,158 @@ class SectionTest {
         Student student3 = new Student(3);
         assertThrows(CapacityReachedException.class, () -> section.addStudent(student3));
     }
+
+    @Test
+    void testWaitlistPromotedWhenSeatFreesUp() throws EnlistmentException {
+        Room smallRoom = new Room("SMALL1", 1);
+        Section section = new Section("SEC001", subject, schedule, smallRoom, instructor);
+        Student student1 = new Student(1);
+        Student student2 = new Student(2);
+        Student student3 = new Student(3);
+
+        student1.enlist(section);
+        assertEquals(EnlistmentResult.Status.WAITLISTED, student2.enlistOrWaitlist(section).getStatus());
+        // The waitlist holds one room's worth of students
+        assertEquals(EnlistmentResult.Rejection.CAPACITY_REACHED, student3.enlistOrWaitlist(section).getRejection());
+        assertEquals(1, section.getWaitlistSize());
+
+        student1.cancel(section);
+
+        assertTrue(section.getEnrolledStudents().contains(student2));
+        assertTrue(student2.getEnrolledSections().contains(section));
+        assertEquals(0, section.getWaitlistSize());
+    }
+
+    @Test
+    void testWaitlistSkipsStudentsWhoNoLongerFit() throws EnlistmentException {
+        Room smallRoom = new Room("SMALL1", 2);
+        Section section = new Section("SEC001", subject, schedule, smallRoom, instructor);
+        Section clashing = new Section("SEC002", new Subject("PHYS101", 4, false), schedule,
+                new Room("B101", 25), new Instructor("Dr. Jones"));
+        Student student1 = new Student(1);
+        Student student2 = new Student(2);
+        Student student3 = new Student(3);
+        Student student4 = new Student(4);
+
+        student1.enlist(section);
+        student2.enlist(section);
+        student3.enlistOrWaitlist(section);
+        student4.enlistOrWaitlist(section);
+        student3.enlist(clashing);
+
+        student1.cancel(section);
+
+        assertFalse(section.getEnrolledStudents().contains(student3));
+        assertTrue(section.getEnrolledStudents().contains(student4));
+        assertTrue(section.getWaitlist().isEmpty());
+    }
+
+    @Test
+    void testVetoedPromotionDoesNotFailCancel() throws EnlistmentException {
+        Section section = new Section("SEC001", subject, schedule, new Room("SMALL1", 2), instructor);
+        Student student1 = new Student(1);
+        Student student2 = new Student(2);
+        Student vetoed = new Student(3);
+        Student student4 = new Student(4);
+        student1.enlist(section);
+        student2.enlist(section);
+        vetoed.enlistOrWaitlist(section);
+        student4.enlistOrWaitlist(section);
+
+        Student.setListener(new EnrollmentListener() {
+            @Override
+            public void onEnlisted(Student student, Section enlisted) {
+                if (student.equals(vetoed)) {
+                    throw new IllegalStateException("journal unavailable");
+                }
+            }
+        });
+        try {
+            student1.cancel(section);
+        } finally {
+            Student.setListener(null);
+        }
+
+        assertFalse(section.getEnrolledStudents().contains(student1));
+        assertTrue(section.getEnrolledStudents().contains(student4));
+        assertEquals(List.of(vetoed), section.getWaitlist());
+        assertEquals(1, section.getWaitlistSize());
+    }
+
+    @Test
+    void testLeaveWaitlist() throws EnlistmentException {
+        Room smallRoom = new Room("SMALL1", 2);
+        Section section = new Section("SEC001", subject, schedule, smallRoom, instructor);
+        Student student1 = new Student(1);
+        Student student2 = new Student(2);
+        Student student3 = new Student(3);
+        student1.enlist(section);
+        student2.enlist(section);
+        student3.enlistOrWaitlist(section);
+
+        assertFalse(section.joinWaitlist(student3));
+        assertTrue(student3.leaveWaitlist(section));
+        assertFalse(student3.leaveWaitlist(section));
+        assertEquals(0, section.getWaitlistSize());
+
+        student1.cancel(section);
+        assertFalse(section.getEnrolledStudents().contains(student3));
+        assertTrue(section.joinWaitlist(student3));
+    }
+
+    @Test
+    void testConcurrentJoinsQueueStudentOnce() throws Exception {
+        Room smallRoom = new Room("SMALL1", 30);
+        Section section = new Section("SEC001", subject, schedule, smallRoom, instructor);
+        Student student = new Student(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger joined = new AtomicInteger();
+
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (section.joinWaitlist(student)) {
+                    joined.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, joined.get());
+        assertEquals(1, section.getWaitlistSize());
+        assertEquals(1, section.getWaitlist().size());
+    }
+
+    @Test
+    void testConcurrentEnlistmentNeverOverbooks() throws Exception {
+        Room smallRoom = new Room("SMALL1", 30);
+        Section section = new Section("SEC001", subject, schedule, smallRoom, instructor);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int i = 0; i < 500; i++) {
+            Student student = new Student(i);
+            executor.submit(() -> {
+                start.await();
+                try {
+                    student.enlist(section);
+                } catch (CapacityReachedException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(30, section.getEnrollmentCount());
+        assertEquals(30, section.getEnrolledStudents().size());
+        assertEquals(470, rejected.get());
+    }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
 import com.orangeandbronze.exceptions.*;
 
 class StudentTest {
@@ -24,8 +27,8 @@ class StudentTest {
         labSubject = new Subject("CHEM101L", 1, true);
         room = new Room("A101", 30);
         instructor = new Instructor("Dr. Smith");
-        schedule1 = new Schedule(Schedule.Days.MTH, Schedule.Period.H0830_1000);
-        schedule2 = new Schedule(Schedule.Days.TF, Schedule.Period.H1000_1130);
+        schedule1 = Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000);
+        schedule2 = Schedule.of(Schedule.Days.TF, Schedule.Period.H1000_1130);
     }
 
     @Test
@@ -73,7 +76,10 @@ class StudentTest {
         
         student.enlist(section1);
         
-        assertThrows(ScheduleConflictException.class, () -> student.enlist(section2));
+        ScheduleConflictException thrown = assertThrows(ScheduleConflictException.class, () -> student.enlist(section2));
+        assertTrue(thrown.getStackTrace().length > 0);
+        thrown.addSuppressed(new IllegalStateException("rollback failed"));
+        assertEquals(1, thrown.getSuppressed().length);
     }
 
     @Test
@@ -117,6 +123,30 @@ class StudentTest {
         assertTrue(student.getEnrolledSections().contains(section));
     }
 
+    @Test
+    void testTryEnlistReportsRejectionWithoutThrowing() throws EnlistmentException {
+        Subject advancedMath = new Subject("MATH201", 3, false);
+        advancedMath.addPrerequisite(mathSubject);
+        Section mathSection = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section clashing = new Section("SEC002", physicsSubject, schedule1, new Room("B101", 25), new Instructor("Dr. Jones"));
+        Section advanced = new Section("SEC003", advancedMath, schedule2, room, instructor);
+
+        assertTrue(student.tryEnlist(mathSection).isEnlisted());
+
+        EnlistmentResult conflict = student.tryEnlist(clashing);
+        assertEquals(EnlistmentResult.Rejection.SCHEDULE_CONFLICT, conflict.getRejection());
+        assertSame(mathSection, conflict.getOffendingSection());
+        assertEquals("Schedule conflict between sections SEC001 and SEC002", conflict.getMessage());
+
+        EnlistmentResult prerequisite = student.tryEnlist(advanced);
+        assertEquals(EnlistmentResult.Rejection.PREREQUISITE_NOT_MET, prerequisite.getRejection());
+        assertEquals(mathSubject, prerequisite.getMissingPrerequisite());
+        assertInstanceOf(PrerequisiteNotMetException.class, prerequisite.getFailure());
+        assertEquals(0, prerequisite.getFailure(false).getStackTrace().length);
+
+        assertEquals(1, student.getEnrolledSections().size());
+    }
+
     @Test
     void testCapacityReached() throws EnlistmentException {
         Room smallRoom = new Room("SMALL1", 1);
@@ -143,6 +173,21 @@ class StudentTest {
         assertFalse(student.getEnrolledSections().contains(section));
     }
 
+    @Test
+    void testCancelFreesScheduleSlotAndSubject() throws EnlistmentException {
+        Section section1 = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section section2 = new Section("SEC002", mathSubject, schedule1, new Room("B101", 25), new Instructor("Dr. Jones"));
+
+        student.enlist(section1);
+        assertEquals(schedule1.getSlotMask(), student.getOccupiedSlots());
+
+        student.cancel(section1);
+        assertEquals(0, student.getOccupiedSlots());
+
+        student.enlist(section2);
+        assertTrue(student.getEnrolledSections().contains(section2));
+    }
+
     @Test
     void testCancelNonEnlistedSection() throws ScheduleConflictException {
         Section section = new Section("SEC001", mathSubject, schedule1, room, instructor);
@@ -152,6 +197,52 @@ class StudentTest {
         assertThrows(EnlistmentException.class, () -> student.cancel(section));
     }
 
+    @Test
+    void testEnlistAllCart() throws EnlistmentException {
+        Section mathSection = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section physicsSection = new Section("SEC002", physicsSubject, schedule2, room, instructor);
+
+        List<EnlistmentResult> results = student.enlistAll(List.of(mathSection, physicsSection));
+
+        assertTrue(results.get(0).isEnlisted());
+        assertTrue(results.get(1).isEnlisted());
+        assertEquals(2, student.getEnrolledSections().size());
+        assertEquals(1, mathSection.getEnrollmentCount());
+        assertEquals(1, physicsSection.getEnrollmentCount());
+    }
+
+    @Test
+    void testEnlistAllRejectsIntraCartConflict() throws EnlistmentException {
+        Section mathSection = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section physicsSection = new Section("SEC002", physicsSubject, schedule1, new Room("B101", 25), new Instructor("Dr. Jones"));
+        Section labSection = new Section("SEC003", labSubject, schedule2, room, instructor);
+
+        List<EnlistmentResult> results = student.enlistAll(List.of(mathSection, physicsSection, labSection));
+
+        assertEquals(EnlistmentResult.Status.ABORTED, results.get(0).getStatus());
+        assertEquals(EnlistmentResult.Status.REJECTED, results.get(1).getStatus());
+        assertInstanceOf(ScheduleConflictException.class, results.get(1).getFailure());
+        assertEquals(EnlistmentResult.Status.ABORTED, results.get(2).getStatus());
+        assertTrue(student.getEnrolledSections().isEmpty());
+        assertEquals(0, mathSection.getEnrollmentCount());
+        assertEquals(0, labSection.getEnrollmentCount());
+    }
+
+    @Test
+    void testEnlistAllClaimsNoSeatWhenOneSectionIsFull() throws EnlistmentException {
+        Room smallRoom = new Room("SMALL1", 1);
+        Section mathSection = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section fullSection = new Section("SEC002", physicsSubject, schedule2, smallRoom, new Instructor("Dr. Jones"));
+        new Student(67890).enlist(fullSection);
+
+        List<EnlistmentResult> results = student.enlistAll(List.of(mathSection, fullSection));
+
+        assertEquals(EnlistmentResult.Status.ABORTED, results.get(0).getStatus());
+        assertInstanceOf(CapacityReachedException.class, results.get(1).getFailure());
+        assertEquals(0, mathSection.getEnrollmentCount());
+        assertTrue(student.getEnrolledSections().isEmpty());
+    }
+
     @Test
     void testAssessmentCalculation() throws EnlistmentException {
         // Create sections with different subjects
@@ -191,4 +282,116 @@ class StudentTest {
         BigDecimal expected = new BigDecimal("3871.59");
         assertEquals(0, expected.compareTo(assessment));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCompletedSubjectsAreDeduplicated() {
+        for (int i = 0; i < 10; i++) {
+            student.completeSubject(new Subject("DONE" + i, 3, false));
+        }
+        student.completeSubject(new Subject("DONE0", 3, false));
+
+        assertEquals(10, student.getCompletedSubjects().size());
+        assertTrue(student.getCompletedSubjects().contains(new Subject("DONE9", 3, false)));
+    }
+
+    @Test
+    void testAssessmentIsCachedUntilLoadChanges() throws EnlistmentException {
+        Section math = new Section("SEC001", mathSubject, schedule1, room, instructor);
+        Section lab = new Section("SEC002", labSubject, schedule2, room, instructor);
+
+        student.enlist(math);
+        Assessment first = student.assess(FeeSchedule.DEFAULT);
+
+        assertSame(first, student.assess(FeeSchedule.DEFAULT));
+        assertEquals(3, first.getUnits());
+
+        student.enlist(lab);
+        Assessment second = student.assess(FeeSchedule.DEFAULT);
+
+        assertNotSame(first, second);
+        assertEquals(4, second.getUnits());
+        assertEquals(1, second.getLabSubjects());
+
+        student.cancel(lab);
+
+        assertEquals(first.getTotalCentavos(), student.assess(FeeSchedule.DEFAULT).getTotalCentavos());
+        assertEquals(0, student.assess(FeeSchedule.DEFAULT).getLabSubjects());
+    }
+
+    @Test
+    void testEligibilityFollowsCompletedSubjects() {
+        Subject basic = new Subject("ELIG101", 3, false);
+        Subject advanced = new Subject("ELIG201", 3, false);
+        Subject capstone = new Subject("ELIG301", 3, false);
+        advanced.addPrerequisite(basic);
+        capstone.addPrerequisite(advanced);
+        OrdinalSet roots = Curriculum.rootsOf(List.of(basic, advanced, capstone));
+
+        OrdinalSet eligible = student.getEligibleSubjectOrdinals(roots);
+        assertTrue(eligible.contains(basic.getOrdinal()));
+        assertFalse(eligible.contains(advanced.getOrdinal()));
+
+        student.completeSubject(basic);
+        eligible = student.getEligibleSubjectOrdinals(roots);
+
+        assertFalse(eligible.contains(basic.getOrdinal()));
+        assertTrue(eligible.contains(advanced.getOrdinal()));
+        assertFalse(eligible.contains(capstone.getOrdinal()));
+    }
+
+    @Test
+    void testEligibilityNoticesNewPrerequisites() {
+        Subject basic = new Subject("ELIG401", 3, false);
+        Subject advanced = new Subject("ELIG402", 3, false);
+        Subject later = new Subject("ELIG403", 3, false);
+        advanced.addPrerequisite(basic);
+        student.completeSubject(basic);
+        assertTrue(student.getEligibleSubjectOrdinals(Curriculum.rootsOf(List.of(basic, advanced, later))).contains(advanced.getOrdinal()));
+
+        advanced.addPrerequisite(later);
+        OrdinalSet roots = Curriculum.rootsOf(List.of(basic, advanced, later));
+
+        assertFalse(student.getEligibleSubjectOrdinals(roots).contains(advanced.getOrdinal()));
+        assertTrue(student.getEligibleSubjectOrdinals(roots).contains(later.getOrdinal()));
+    }
+
+    @Test
+    void testFreeFormSectionsConflictWithLoad() throws EnlistmentException {
+        Schedule afternoonLab = Schedule.of(new Schedule.Meeting(DayOfWeek.THURSDAY, 13 * 60, 16 * 60));
+        Schedule eveningClass = Schedule.of(new Schedule.Meeting(DayOfWeek.TUESDAY, 18 * 60, 21 * 60));
+        Section slotted = new Section("SEC001", mathSubject, Schedule.of(Schedule.Days.MTH, Schedule.Period.H1430_1600), room, instructor);
+        Section lab = new Section("SEC002", labSubject, afternoonLab, new Room("B101", 25), new Instructor("Dr. Jones"));
+        Section evening = new Section("SEC003", physicsSubject, eveningClass, room, instructor);
+        Section lateEvening = new Section("SEC004", new Subject("HIST101", 3, false),
+                Schedule.of(new Schedule.Meeting(DayOfWeek.TUESDAY, 20 * 60, 22 * 60)), new Room("B101", 25), new Instructor("Dr. Jones"));
+
+        student.enlist(slotted);
+        EnlistmentResult conflict = student.tryEnlist(lab);
+        assertEquals(EnlistmentResult.Rejection.SCHEDULE_CONFLICT, conflict.getRejection());
+        assertSame(slotted, conflict.getOffendingSection());
+
+        student.enlist(evening);
+        assertEquals(slotted.getSchedule().getSlotMask(), student.getOccupiedSlots());
+        assertSame(evening, student.tryEnlist(lateEvening).getOffendingSection());
+        assertEquals(EnlistmentResult.Rejection.ALREADY_ENROLLED, student.tryEnlist(evening).getRejection());
+        assertEquals(7, student.assess(FeeSchedule.DEFAULT).getUnits());
+
+        student.cancel(slotted);
+        assertTrue(student.tryEnlist(lab).isEnlisted());
+        assertEquals(Set.of(lab, evening), student.getEnrolledSections());
+    }
+
+    @Test
+    void testEnlistAllRejectsOverlappingFreeFormSections() throws EnlistmentException {
+        Section evening = new Section("SEC001", mathSubject,
+                Schedule.of(new Schedule.Meeting(DayOfWeek.WEDNESDAY, 18 * 60, 21 * 60)), room, instructor);
+        Section overlapping = new Section("SEC002", physicsSubject,
+                Schedule.of(new Schedule.Meeting(DayOfWeek.WEDNESDAY, 20 * 60, 22 * 60)), new Room("B101", 25), new Instructor("Dr. Jones"));
+
+        List<EnlistmentResult> results = student.enlistAll(List.of(evening, overlapping, evening));
+
+        assertEquals(EnlistmentResult.Rejection.SCHEDULE_CONFLICT, results.get(1).getRejection());
+        assertEquals(EnlistmentResult.Rejection.DUPLICATE_IN_CART, results.get(2).getRejection());
+        assertTrue(student.getEnrolledSections().isEmpty());
+    }
+}
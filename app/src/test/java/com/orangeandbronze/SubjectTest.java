@@ -1,5 +1,7 @@
 package com.orangeandbronze;
 
+import java.util.*;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,4 +48,79 @@ class SubjectTest {
         assertTrue(advancedMath.getPrerequisites().contains(basicMath));
         assertEquals(1, advancedMath.getPrerequisites().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTransitivePrerequisites() {
+        Subject math101 = new Subject("MATH101", 3, false);
+        Subject math201 = new Subject("MATH201", 3, false);
+        Subject math301 = new Subject("MATH301", 3, false);
+
+        math301.addPrerequisite(math201);
+        math201.addPrerequisite(math101);
+
+        assertTrue(math301.getPrerequisiteOrdinals().contains(math201.getOrdinal()));
+        assertFalse(math301.getPrerequisiteOrdinals().contains(math101.getOrdinal()));
+        assertTrue(math301.getTransitivePrerequisiteOrdinals().contains(math101.getOrdinal()));
+        assertTrue(math301.getTransitivePrerequisiteOrdinals().contains(math201.getOrdinal()));
+    }
+
+    @Test
+    void testPrerequisiteCycleRejected() {
+        Subject math101 = new Subject("MATH101", 3, false);
+        Subject math201 = new Subject("MATH201", 3, false);
+        Subject math301 = new Subject("MATH301", 3, false);
+        math201.addPrerequisite(math101);
+        math301.addPrerequisite(math201);
+
+        assertThrows(IllegalArgumentException.class, () -> math101.addPrerequisite(math301));
+        assertThrows(IllegalArgumentException.class, () -> math101.addPrerequisite(math101));
+        assertTrue(math101.getPrerequisites().isEmpty());
+    }
+
+    @Test
+    void testSameSubjectIdSharesOrdinal() {
+        assertEquals(new Subject("MATH101", 3, false).getOrdinal(), new Subject("MATH101", 3, false).getOrdinal());
+        assertNotEquals(new Subject("MATH101", 3, false).getOrdinal(), new Subject("MATH201", 3, false).getOrdinal());
+    }
+
+    @Test
+    void testRebuiltCatalogDoesNotInheritPrerequisites() {
+        Subject intro = new Subject("ROOT101", 3, false);
+        Subject advanced = new Subject("ROOT201", 3, false);
+        advanced.addPrerequisite(intro);
+        OrdinalSet roots = Curriculum.rootsOf(List.of(intro, advanced));
+        assertTrue(roots.contains(intro.getOrdinal()));
+        assertFalse(roots.contains(advanced.getOrdinal()));
+
+        Subject rebuiltIntro = new Subject("ROOT101", 3, false);
+        Subject rebuiltAdvanced = new Subject("ROOT201", 3, false);
+
+        assertEquals(advanced.getOrdinal(), rebuiltAdvanced.getOrdinal());
+        assertTrue(Curriculum.rootsOf(List.of(rebuiltIntro, rebuiltAdvanced)).contains(rebuiltAdvanced.getOrdinal()));
+    }
+
+    @Test
+    void testConcurrentPrerequisitesAreAllKept() throws InterruptedException {
+        Subject capstone = new Subject("RACE999", 3, false);
+        List<Subject> prerequisites = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            prerequisites.add(new Subject("RACE" + i, 3, false));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < prerequisites.size(); i += 4) {
+                    capstone.addPrerequisite(prerequisites.get(i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(new HashSet<>(prerequisites), capstone.getPrerequisites());
+        assertEquals(prerequisites.size(), capstone.getPrerequisiteOrdinals().size());
+    }
+}
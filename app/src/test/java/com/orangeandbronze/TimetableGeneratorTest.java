@@ -0,0 +1,106 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.DayOfWeek;
+import java.util.*;
+import com.orangeandbronze.exceptions.*;
+
+class TimetableGeneratorTest {
+
+    @Test
+    void testPrefersFewestDays() throws ScheduleConflictException {
+        Subject math = new Subject("GEN101", 3, false);
+        Subject physics = new Subject("GEN102", 3, false);
+        Section mathMonday = new Section("GENA", math, Schedule.of(Schedule.Days.MTH, Schedule.Period.H0830_1000),
+                new Room("GENROOM1", 30), new Instructor("Dr. Gen A"));
+        Section mathTuesday = new Section("GENB", math, Schedule.of(Schedule.Days.TF, Schedule.Period.H0830_1000),
+                new Room("GENROOM2", 30), new Instructor("Dr. Gen B"));
+        Section physicsMonday = new Section("GENC", physics, Schedule.of(Schedule.Days.MTH, Schedule.Period.H1000_1130),
+                new Room("GENROOM3", 30), new Instructor("Dr. Gen C"));
+        TimetableGenerator generator = new TimetableGenerator(SectionIndex.of(List.of(mathMonday, mathTuesday, physicsMonday)));
+
+        List<TimetableGenerator.Timetable> timetables = generator.generate(new Student(1), List.of(math, physics), 5,
+                TimetableGenerator.FEWEST_DAYS);
+
+        assertEquals(2, timetables.size());
+        assertEquals(Set.of(mathMonday, physicsMonday), new HashSet<>(timetables.get(0).getSections()));
+        assertEquals(2, timetables.get(0).getMeetingDayCount());
+        assertEquals(4, timetables.get(1).getMeetingDayCount());
+    }
+
+    @Test
+    void testSkipsSlotsTheStudentAlreadyUses() throws EnlistmentException, ScheduleConflictException {
+        Subject math = new Subject("GEN201", 3, false);
+        Subject art = new Subject("GEN202", 3, false);
+        Schedule morning = Schedule.of(Schedule.Days.WS, Schedule.Period.H0830_1000);
+        Section mathMorning = new Section("GEND", math, morning, new Room("GENROOM4", 30), new Instructor("Dr. Gen D"));
+        Section artMorning = new Section("GENE", art, morning, new Room("GENROOM5", 30), new Instructor("Dr. Gen E"));
+        Student student = new Student(2);
+        student.enlist(artMorning);
+        TimetableGenerator generator = new TimetableGenerator(SectionIndex.of(List.of(mathMorning, artMorning)));
+
+        assertTrue(generator.generate(student, List.of(math), 5, TimetableGenerator.FEWEST_DAYS).isEmpty());
+    }
+
+    @Test
+    void testComparesFreeFormMeetings() throws ScheduleConflictException {
+        Subject math = new Subject("GEN301", 3, false);
+        Subject art = new Subject("GEN302", 3, false);
+        Section mathEvening = new Section("GENF", math, Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 18 * 60, 21 * 60)),
+                new Room("GENROOM6", 30), new Instructor("Dr. Gen F"));
+        Section artEvening = new Section("GENG", art, Schedule.of(new Schedule.Meeting(DayOfWeek.MONDAY, 20 * 60, 22 * 60)),
+                new Room("GENROOM7", 30), new Instructor("Dr. Gen G"));
+        Section artSaturday = new Section("GENH", art, Schedule.of(new Schedule.Meeting(DayOfWeek.SATURDAY, 9 * 60, 12 * 60)),
+                new Room("GENROOM8", 30), new Instructor("Dr. Gen H"));
+        TimetableGenerator generator = new TimetableGenerator(SectionIndex.of(List.of(mathEvening, artEvening, artSaturday)));
+
+        List<TimetableGenerator.Timetable> timetables = generator.generate(new Student(3), List.of(math, art), 5,
+                TimetableGenerator.FEWEST_DAYS);
+
+        assertEquals(1, timetables.size());
+        assertEquals(Set.of(mathEvening, artSaturday), new HashSet<>(timetables.get(0).getSections()));
+        assertEquals(2, timetables.get(0).getMeetingDayCount());
+    }
+
+    @Test
+    void testRequiresPrerequisites() throws ScheduleConflictException {
+        Subject basic = new Subject("GEN301", 3, false);
+        Subject advanced = new Subject("GEN302", 3, false);
+        advanced.addPrerequisite(basic);
+        Section section = new Section("GENF", advanced, Schedule.of(Schedule.Days.MTH, Schedule.Period.H1300_1430),
+                new Room("GENROOM6", 30), new Instructor("Dr. Gen F"));
+        TimetableGenerator generator = new TimetableGenerator(SectionIndex.of(List.of(section)));
+        Student student = new Student(3);
+
+        assertTrue(generator.generate(student, List.of(advanced), 5, TimetableGenerator.FEWEST_DAYS).isEmpty());
+
+        student.completeSubject(basic);
+
+        assertEquals(1, generator.generate(student, List.of(advanced), 5, TimetableGenerator.FEWEST_DAYS).size());
+    }
+
+    @Test
+    void testParallelSearchMatchesExhaustiveCount() throws ScheduleConflictException {
+        List<Subject> subjects = new ArrayList<>();
+        List<Section> sections = new ArrayList<>();
+        Schedule.Period[] periods = Schedule.Period.values();
+        for (int i = 0; i < 5; i++) {
+            Subject subject = new Subject("GEN40" + i, 3, false);
+            subjects.add(subject);
+            for (Schedule.Days days : Schedule.Days.values()) {
+                sections.add(new Section("GENP" + i + days, subject, Schedule.of(days, periods[i]),
+                        new Room("GENPROOM" + i + days, 30), new Instructor("Dr. Gen P" + i + days)));
+            }
+        }
+        TimetableGenerator generator = new TimetableGenerator(SectionIndex.of(sections));
+
+        List<TimetableGenerator.Timetable> timetables = generator.generate(new Student(4), subjects, 1000,
+                TimetableGenerator.FEWEST_DAYS);
+
+        // Each subject sits in its own period, so every combination of day patterns is conflict-free
+        assertEquals(243, timetables.size());
+        assertEquals(2, timetables.get(0).getMeetingDayCount());
+        assertEquals(0, timetables.get(0).getIdlePeriodCount());
+    }
+}
@@ -0,0 +1,33 @@
+package com.orangeandbronze;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void testLowRanksDominate() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.2);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.next()]++;
+        }
+
+        assertTrue(counts[0] > counts[1]);
+        assertTrue(counts[1] > counts[10]);
+        assertTrue(counts[0] > 100_000 / 10);
+    }
+
+    @Test
+    void testUniformWithZeroExponent() {
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[sampler.next()]++;
+        }
+
+        for (int count : counts) {
+            assertEquals(10_000, count, 1_000);
+        }
+    }
+}